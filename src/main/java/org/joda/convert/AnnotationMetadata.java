@@ -0,0 +1,164 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The members of a single class annotated with {@code ToString} and {@code FromString}.
+ * <p>
+ * Searching for annotations calls {@code getDeclaredMethods()}, which copies the array
+ * of methods on each call, and then checks each method for the annotations.
+ * The result of that search is cached once per class, shared by all instances of
+ * {@code StringConvert}, using {@link ClassCache}. On JDK 1.7 and later the cache
+ * is weakly keyed by the class, thus it does not prevent classes from being unloaded.
+ * <p>
+ * Only the members declared by the class itself are recorded.
+ * The rules for searching superclasses remain in {@code StringConvert}.
+ * <p>
+ * AnnotationMetadata is immutable and thread-safe.
+ */
+final class AnnotationMetadata {
+
+    /** Metadata for a class with no annotated members. */
+    private static final AnnotationMetadata EMPTY = new AnnotationMetadata(new Method[0], new Method[0], null);
+    /** The cache, shared by all instances of {@code StringConvert}. */
+    private static final ClassCache<AnnotationMetadata> CACHE = new ClassCache<AnnotationMetadata>() {
+        @Override
+        AnnotationMetadata computeValue(Class<?> cls) {
+            return compute(cls);
+        }
+    };
+
+    /** The methods annotated with {@code ToString}. */
+    private final Method[] toStringMethods;
+    /** The methods annotated with {@code FromString}. */
+    private final Method[] fromStringMethods;
+    /** The constructor annotated with {@code FromString}, null if none. */
+    private final Constructor<?> fromStringConstructor;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the metadata for the class.
+     * 
+     * @param cls  the class, not null
+     * @return the metadata, not null
+     */
+    static AnnotationMetadata of(Class<?> cls) {
+        return CACHE.get(cls);
+    }
+
+    /**
+     * Computes the metadata for the class.
+     * 
+     * @param cls  the class, not null
+     * @return the metadata, not null
+     */
+    private static AnnotationMetadata compute(Class<?> cls) {
+        List<Method> toStrings = new ArrayList<Method>();
+        List<Method> fromStrings = new ArrayList<Method>();
+        for (Method method : cls.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(ToString.class)) {
+                toStrings.add(method);
+            }
+            if (method.isAnnotationPresent(FromString.class)) {
+                fromStrings.add(method);
+            }
+        }
+        Constructor<?> con = findFromStringConstructor(cls);
+        if (toStrings.isEmpty() && fromStrings.isEmpty() && con == null) {
+            return EMPTY;
+        }
+        return new AnnotationMetadata(
+                toStrings.toArray(new Method[toStrings.size()]), fromStrings.toArray(new Method[fromStrings.size()]), con);
+    }
+
+    /**
+     * Finds the annotated constructor, checking a String constructor before a CharSequence one.
+     * 
+     * @param cls  the class, not null
+     * @return the constructor, null if none
+     */
+    private static Constructor<?> findFromStringConstructor(Class<?> cls) {
+        Constructor<?> con;
+        try {
+            con = cls.getDeclaredConstructor(String.class);
+        } catch (NoSuchMethodException ex) {
+            try {
+                con = cls.getDeclaredConstructor(CharSequence.class);
+            } catch (NoSuchMethodException ex2) {
+                return null;
+            }
+        }
+        return con.isAnnotationPresent(FromString.class) ? con : null;
+    }
+
+    /**
+     * Restricted constructor.
+     * 
+     * @param toStringMethods  the methods annotated with {@code ToString}, not null
+     * @param fromStringMethods  the methods annotated with {@code FromString}, not null
+     * @param fromStringConstructor  the constructor annotated with {@code FromString}, null if none
+     */
+    private AnnotationMetadata(Method[] toStringMethods, Method[] fromStringMethods, Constructor<?> fromStringConstructor) {
+        this.toStringMethods = toStringMethods;
+        this.fromStringMethods = fromStringMethods;
+        this.fromStringConstructor = fromStringConstructor;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the single method declared by the class annotated with {@code ToString}.
+     * 
+     * @return the method, null if none
+     * @throws IllegalStateException if more than one method is annotated
+     */
+    Method getToStringMethod() {
+        if (toStringMethods.length > 1) {
+            throw new IllegalStateException("Two methods are annotated with @ToString");
+        }
+        return (toStringMethods.length == 0 ? null : toStringMethods[0]);
+    }
+
+    /**
+     * Gets the single method declared by the class annotated with {@code FromString}.
+     * 
+     * @return the method, null if none
+     * @throws IllegalStateException if more than one method is annotated
+     */
+    Method getFromStringMethod() {
+        if (fromStringMethods.length > 1) {
+            throw new IllegalStateException("Two methods are annotated with @FromString");
+        }
+        return (fromStringMethods.length == 0 ? null : fromStringMethods[0]);
+    }
+
+    /**
+     * Gets the constructor annotated with {@code FromString}.
+     * 
+     * @param <T>  the type of the class
+     * @param cls  the class that this metadata is for, not null
+     * @return the constructor, null if none
+     */
+    @SuppressWarnings("unchecked")
+    <T> Constructor<T> getFromStringConstructor(Class<T> cls) {
+        return (Constructor<T>) fromStringConstructor;
+    }
+
+}
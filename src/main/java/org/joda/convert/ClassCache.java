@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Cache of values computed from a class.
+ * <p>
+ * On JDK 1.7 and later, the values are stored using {@code ClassValue}.
+ * This is fast and does not prevent classes from being unloaded.
+ * On JDK 1.6, values are not cached, and {@link #isSupported()} returns false
+ * allowing the caller to choose an alternative strategy.
+ * <p>
+ * ClassCache is abstract, but all known implementations are thread-safe.
+ * 
+ * @param <V>  the type of the cached value
+ */
+abstract class ClassCache<V> {
+
+    /**
+     * The constructor of the {@code ClassValue} store, null if not available on this JDK.
+     */
+    private static final Constructor<?> STORE_CONSTRUCTOR;
+    static {
+        Constructor<?> con = null;
+        try {
+            Class<?> cls = ClassCache.class.getClassLoader().loadClass("org.joda.convert.ClassValueStore");
+            con = cls.getDeclaredConstructor(ClassCache.class);
+        } catch (Throwable ex) {
+            // ignore, ClassValue requires JDK 1.7
+        }
+        STORE_CONSTRUCTOR = con;
+    }
+
+    /** The store, null if not available on this JDK. */
+    private final ClassStore store;
+
+    /**
+     * Checks if caching is supported on this JDK.
+     * 
+     * @return true if values are cached
+     */
+    static boolean isSupported() {
+        return STORE_CONSTRUCTOR != null;
+    }
+
+    /**
+     * Creates an instance.
+     */
+    ClassCache() {
+        ClassStore store = null;
+        if (STORE_CONSTRUCTOR != null) {
+            try {
+                store = (ClassStore) STORE_CONSTRUCTOR.newInstance(this);
+            } catch (Exception ex) {
+                // ignore, values will not be cached
+            }
+        }
+        this.store = store;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Computes the value for the class.
+     * 
+     * @param cls  the class to compute the value for, not null
+     * @return the value, may be null
+     */
+    abstract V computeValue(Class<?> cls);
+
+    /**
+     * Gets the value for the class, computing and caching it if necessary.
+     * 
+     * @param cls  the class to get the value for, not null
+     * @return the value, may be null
+     */
+    @SuppressWarnings("unchecked")
+    V get(Class<?> cls) {
+        if (store == null) {
+            return computeValue(cls);
+        }
+        return (V) store.get(cls);
+    }
+
+    /**
+     * Removes the cached value for the class, forcing it to be computed again.
+     * 
+     * @param cls  the class to remove, not null
+     */
+    void remove(Class<?> cls) {
+        if (store != null) {
+            store.remove(cls);
+        }
+    }
+
+}
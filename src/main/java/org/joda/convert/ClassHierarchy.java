@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The ordered list of types that are searched when resolving a converter for a class.
+ * <p>
+ * The superclasses are listed nearest first, excluding the class itself.
+ * The interfaces are listed breadth first, those of the class itself first,
+ * followed by those of each superclass, with super-interfaces after them.
+ * Each interface appears once.
+ * <p>
+ * The hierarchy is computed once per class and shared by all instances of {@code StringConvert}.
+ * <p>
+ * ClassHierarchy is thread-safe and immutable.
+ */
+final class ClassHierarchy {
+
+    /** The cache of hierarchies. */
+    private static final ClassCache<ClassHierarchy> CACHE = new ClassCache<ClassHierarchy>() {
+        @Override
+        ClassHierarchy computeValue(Class<?> cls) {
+            return new ClassHierarchy(cls);
+        }
+    };
+
+    /** The superclasses, nearest first. */
+    final Class<?>[] superclasses;
+    /** The interfaces, breadth first. */
+    final Class<?>[] interfaces;
+
+    /**
+     * Gets the hierarchy of the class.
+     * 
+     * @param cls  the class to get the hierarchy of, not null
+     * @return the hierarchy, not null
+     */
+    static ClassHierarchy of(Class<?> cls) {
+        return CACHE.get(cls);
+    }
+
+    /**
+     * Creates an instance.
+     * @param cls  the class to compute the hierarchy of, not null
+     */
+    private ClassHierarchy(Class<?> cls) {
+        List<Class<?>> supers = new ArrayList<Class<?>>();
+        Set<Class<?>> intfs = new LinkedHashSet<Class<?>>();
+        List<Class<?>> queue = new ArrayList<Class<?>>();
+        addInterfaces(cls, queue);
+        for (Class<?> loopCls = cls.getSuperclass(); loopCls != null; loopCls = loopCls.getSuperclass()) {
+            supers.add(loopCls);
+            addInterfaces(loopCls, queue);
+        }
+        for (int i = 0; i < queue.size(); i++) {
+            Class<?> intf = queue.get(i);
+            if (intfs.add(intf)) {
+                addInterfaces(intf, queue);
+            }
+        }
+        this.superclasses = supers.toArray(new Class<?>[supers.size()]);
+        this.interfaces = intfs.toArray(new Class<?>[intfs.size()]);
+    }
+
+    /**
+     * Adds the directly implemented interfaces to the queue.
+     * @param cls  the class to add the interfaces of, not null
+     * @param queue  the queue to add to, not null
+     */
+    private static void addInterfaces(Class<?> cls, List<Class<?>> queue) {
+        for (Class<?> intf : cls.getInterfaces()) {
+            queue.add(intf);
+        }
+    }
+
+}
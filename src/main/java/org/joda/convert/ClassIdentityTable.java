@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Immutable table of converters keyed by class identity.
+ * <p>
+ * This is an open-addressing hash table using linear probing.
+ * The table is sized to be at most half full and a hash seed is chosen when the
+ * table is built such that most, often all, classes are found on the first probe.
+ * <p>
+ * ClassIdentityTable is thread-safe and immutable.
+ */
+final class ClassIdentityTable {
+
+    /** The seeds to try when building the table. */
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F, 0x165667B1, 0xD3A2646C};
+
+    /** The hash seed. */
+    private final int seed;
+    /** The mask used to index the table. */
+    private final int mask;
+    /** The keys. */
+    private final Class<?>[] keys;
+    /** The values. */
+    private final StringConverter<?>[] values;
+
+    /**
+     * Creates an instance from a map.
+     * @param map  the map to copy, not null
+     */
+    ClassIdentityTable(Map<Class<?>, StringConverter<?>> map) {
+        int capacity = 2;
+        while (capacity < map.size() * 2) {
+            capacity <<= 1;
+        }
+        Class<?>[] bestKeys = null;
+        StringConverter<?>[] bestValues = null;
+        int bestSeed = 0;
+        int bestProbes = Integer.MAX_VALUE;
+        for (int seed : SEEDS) {
+            Class<?>[] keys = new Class<?>[capacity];
+            StringConverter<?>[] values = new StringConverter<?>[capacity];
+            int probes = 0;
+            for (Entry<Class<?>, StringConverter<?>> entry : map.entrySet()) {
+                int index = index(entry.getKey(), seed, capacity - 1);
+                while (keys[index] != null) {
+                    index = (index + 1) & (capacity - 1);
+                    probes++;
+                }
+                keys[index] = entry.getKey();
+                values[index] = entry.getValue();
+            }
+            if (probes < bestProbes) {
+                bestKeys = keys;
+                bestValues = values;
+                bestSeed = seed;
+                bestProbes = probes;
+                if (probes == 0) {
+                    break;
+                }
+            }
+        }
+        this.seed = bestSeed;
+        this.mask = capacity - 1;
+        this.keys = bestKeys;
+        this.values = bestValues;
+    }
+
+    /**
+     * Calculates the table index of the class.
+     * @param cls  the class, not null
+     * @param seed  the hash seed
+     * @param mask  the mask of the table
+     * @return the index
+     */
+    private static int index(Class<?> cls, int seed, int mask) {
+        int hash = System.identityHashCode(cls) * seed;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the converter for the class.
+     * @param cls  the class to find, not null
+     * @return the converter, null if not in the table
+     */
+    StringConverter<?> get(Class<?> cls) {
+        int index = index(cls, seed, mask);
+        while (true) {
+            Class<?> key = keys[index];
+            if (key == cls) {
+                return values[index];
+            }
+            if (key == null) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Gets the number of classes in the table.
+     * @return the size
+     */
+    int size() {
+        int size = 0;
+        for (Class<?> key : keys) {
+            if (key != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Copies the contents of this table into the map.
+     * @param map  the map to add to, not null
+     */
+    void copyInto(Map<Class<?>, StringConverter<?>> map) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                map.put(keys[i], values[i]);
+            }
+        }
+    }
+
+}
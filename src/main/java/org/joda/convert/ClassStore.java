@@ -0,0 +1,44 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * Storage of values against a class, used by {@link ClassCache}.
+ * <p>
+ * Implementations are only available on newer JDKs and are therefore
+ * created by reflection.
+ * <p>
+ * ClassStore is an interface and must be implemented with care.
+ * Implementations must be thread-safe.
+ */
+interface ClassStore {
+
+    /**
+     * Gets the value for the class, computing and storing it if necessary.
+     * 
+     * @param cls  the class to get the value for, not null
+     * @return the value, may be null
+     */
+    Object get(Class<?> cls);
+
+    /**
+     * Removes the value for the class, forcing it to be computed again.
+     * 
+     * @param cls  the class to remove, not null
+     */
+    void remove(Class<?> cls);
+
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * Storage of values against a class using {@code ClassValue}.
+ * <p>
+ * The value is stored against the {@code Class} itself, thus a lookup after
+ * the first is a simple field load rather than a hash map probe.
+ * Since the value is only referenced from the class, it does not prevent
+ * the class or its class loader from being garbage collected.
+ * This class requires JDK 1.7 and is only ever loaded by reflection.
+ * <p>
+ * ClassValueStore is thread-safe.
+ */
+final class ClassValueStore extends ClassValue<Object> implements ClassStore {
+
+    /** The cache used to compute values. */
+    private final ClassCache<?> cache;
+
+    /**
+     * Creates an instance.
+     * @param cache  the cache used to compute values, not null
+     */
+    ClassValueStore(ClassCache<?> cache) {
+        this.cache = cache;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object computeValue(Class<?> cls) {
+        return cache.computeValue(cls);
+    }
+
+    // get(Class) is inherited from ClassValue
+
+    // remove(Class) is inherited from ClassValue
+
+}
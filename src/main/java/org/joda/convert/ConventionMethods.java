@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * The resolution plan for a class converted using common method naming conventions.
+ * <p>
+ * A class follows the conventions if it overrides {@code toString()} and declares a public
+ * static factory taking a {@code String} or {@code CharSequence}, named {@code parse},
+ * {@code of}, {@code valueOf} or {@code fromString}, checked in that order.
+ * The factory must return the class or a subclass, thus a factory declared to return
+ * a supertype, such as {@code Object}, is not used.
+ * The factory is found using the same rules as {@code registerMethods}, but must be declared
+ * by the class itself, so a factory of a superclass is never used to create a subclass.
+ * <p>
+ * The plan is computed once per class, shared by all instances of {@code StringConvert},
+ * using {@link ClassCache}. Classes that do not follow the conventions are also cached.
+ * <p>
+ * ConventionMethods is immutable and thread-safe.
+ */
+final class ConventionMethods {
+
+    /** The names of the factory methods, in the order they are checked. */
+    private static final String[] FACTORY_NAMES = {"parse", "of", "valueOf", "fromString"};
+    /** The plan for a class that does not follow the conventions. */
+    private static final ConventionMethods NONE = new ConventionMethods(null, null);
+    /** The cache, shared by all instances of {@code StringConvert}. */
+    private static final ClassCache<ConventionMethods> CACHE = new ClassCache<ConventionMethods>() {
+        @Override
+        ConventionMethods computeValue(Class<?> cls) {
+            return compute(cls);
+        }
+    };
+
+    /** The toString method, null if the conventions are not followed. */
+    private final Method toString;
+    /** The fromString factory method, null if the conventions are not followed. */
+    private final Method fromString;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Creates a converter for the class using the conventions.
+     * <p>
+     * The methods are invoked using reflection until the converter is optimized by the caller.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to create a converter for, not null
+     * @return the converter, null if the class does not follow the conventions
+     */
+    static <T> ReflectionStringConverter<T> createConverter(Class<T> cls) {
+        ConventionMethods plan = CACHE.get(cls);
+        if (plan == NONE) {
+            return null;
+        }
+        return new MethodsStringConverter<T>(cls, plan.toString, plan.fromString, false);
+    }
+
+    /**
+     * Computes the plan for the class.
+     * 
+     * @param cls  the class, not null
+     * @return the plan, not null
+     */
+    private static ConventionMethods compute(Class<?> cls) {
+        if (cls.isPrimitive() || cls.isArray() || cls.isInterface()) {
+            return NONE;
+        }
+        Method toString;
+        try {
+            toString = cls.getMethod("toString");
+        } catch (NoSuchMethodException ex) {
+            return NONE;
+        }
+        if (toString.getDeclaringClass() == Object.class) {
+            return NONE;
+        }
+        for (String name : FACTORY_NAMES) {
+            Method fromString = findFactory(cls, name);
+            if (fromString != null) {
+                return new ConventionMethods(toString, fromString);
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Finds the factory method, checking a String parameter before a CharSequence one.
+     * 
+     * @param cls  the class, not null
+     * @param methodName  the name of the method, not null
+     * @return the method, null if not found or not a valid factory
+     */
+    private static Method findFactory(Class<?> cls, String methodName) {
+        Method method;
+        try {
+            method = cls.getMethod(methodName, String.class);
+        } catch (NoSuchMethodException ex) {
+            try {
+                method = cls.getMethod(methodName, CharSequence.class);
+            } catch (NoSuchMethodException ex2) {
+                return null;
+            }
+        }
+        if (Modifier.isStatic(method.getModifiers()) == false || method.getDeclaringClass() != cls ||
+                cls.isAssignableFrom(method.getReturnType()) == false) {
+            return null;
+        }
+        return method;
+    }
+
+    /**
+     * Restricted constructor.
+     * 
+     * @param toString  the toString method, null if the conventions are not followed
+     * @param fromString  the fromString factory method, null if the conventions are not followed
+     */
+    private ConventionMethods(Method toString, Method fromString) {
+        this.toString = toString;
+        this.fromString = fromString;
+    }
+
+}
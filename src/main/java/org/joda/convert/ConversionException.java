@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2010 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * Exception thrown when a string cannot be converted.
+ * <p>
+ * The exception records the type being converted to or from and, where known,
+ * the index in the input at which the problem was found.
+ * It extends {@code IllegalArgumentException}, as do most of the exceptions
+ * thrown by the JDK when parsing, such as {@code NumberFormatException}.
+ * <p>
+ * When {@link StringConvert#setStacklessExceptions(boolean)} is enabled, instances are
+ * created without a stack trace, which is the most expensive part of creating an exception.
+ * 
+ * @since 1.4
+ */
+public class ConversionException extends IllegalArgumentException {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /** The type being converted to or from. */
+    private final Class<?> targetType;
+    /** The index of the error in the input, negative if not known. */
+    private final int errorOffset;
+
+    /**
+     * Creates an instance.
+     * 
+     * @param message  the message, may be null
+     * @param targetType  the type being converted to or from, may be null
+     * @param errorOffset  the index of the error in the input, negative if not known
+     */
+    public ConversionException(String message, Class<?> targetType, int errorOffset) {
+        super(message);
+        this.targetType = targetType;
+        this.errorOffset = errorOffset;
+    }
+
+    /**
+     * Creates an instance with a cause.
+     * 
+     * @param message  the message, may be null
+     * @param targetType  the type being converted to or from, may be null
+     * @param errorOffset  the index of the error in the input, negative if not known
+     * @param cause  the cause, may be null
+     */
+    public ConversionException(String message, Class<?> targetType, int errorOffset, Throwable cause) {
+        super(message, cause);
+        this.targetType = targetType;
+        this.errorOffset = errorOffset;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the type being converted to or from.
+     * 
+     * @return the type, null if not known
+     */
+    public Class<?> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * Gets the index in the input at which the problem was found.
+     * 
+     * @return the index, negative if not known
+     */
+    public int getErrorOffset() {
+        return errorOffset;
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ *  Copyright 2010 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.util.Arrays;
+
+/**
+ * The failures found when converting a batch of strings.
+ * <p>
+ * Instances are returned by {@link StringConvert#convertFromStrings}.
+ * Each failure is recorded as the index of the row, the reason and, where known,
+ * the index of the error within the row. The failures are stored in arrays of
+ * primitives, thus a batch with few failures has a small report.
+ * <p>
+ * ConversionReport is not altered once it has been returned.
+ *
+ * @since 1.4
+ */
+public final class ConversionReport {
+
+    /**
+     * The reason a row failed to convert.
+     */
+    public enum Reason {
+        /**
+         * The input was rejected as invalid, either without throwing an exception
+         * or by the converter throwing {@code IllegalArgumentException} or a subclass,
+         * such as {@code NumberFormatException} or {@link ConversionException}.
+         */
+        INVALID,
+        /**
+         * The converter threw any other exception.
+         */
+        ERROR,
+    }
+
+    /** The reasons, cached to avoid cloning the array. */
+    private static final Reason[] REASONS = Reason.values();
+
+    /** The type being converted to. */
+    private final Class<?> targetType;
+    /** The number of rows. */
+    private int rowCount;
+    /** The number of failures. */
+    private int failureCount;
+    /** The index of the row of each failure. */
+    private int[] rows = new int[0];
+    /** The index of the error within the row of each failure, negative if not known. */
+    private int[] offsets = new int[0];
+    /** The reason for each failure, as the ordinal of {@code Reason}. */
+    private byte[] reasons = new byte[0];
+
+    /**
+     * Creates an empty report.
+     *
+     * @param targetType  the type being converted to, not null
+     */
+    ConversionReport(Class<?> targetType) {
+        this.targetType = targetType;
+    }
+
+    /**
+     * Records the start of the next row.
+     */
+    void addRow() {
+        rowCount++;
+    }
+
+    /**
+     * Records that the last row failed to convert.
+     *
+     * @param reason  the reason, not null
+     * @param offset  the index of the error within the row, negative if not known
+     */
+    void addFailure(Reason reason, int offset) {
+        if (failureCount == rows.length) {
+            int size = Math.max(8, failureCount * 2);
+            rows = Arrays.copyOf(rows, size);
+            offsets = Arrays.copyOf(offsets, size);
+            reasons = Arrays.copyOf(reasons, size);
+        }
+        rows[failureCount] = rowCount - 1;
+        offsets[failureCount] = offset;
+        reasons[failureCount] = (byte) reason.ordinal();
+        failureCount++;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the type being converted to.
+     *
+     * @return the type, not null
+     */
+    public Class<?> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * Gets the number of rows in the batch, including those that failed.
+     *
+     * @return the number of rows
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Checks if any row failed to convert.
+     *
+     * @return true if there are failures
+     */
+    public boolean hasFailures() {
+        return failureCount > 0;
+    }
+
+    /**
+     * Gets the number of rows that failed to convert.
+     *
+     * @return the number of failures
+     */
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Gets the index of the row of a failure.
+     *
+     * @param failure  the index of the failure, from zero to {@code getFailureCount() - 1}
+     * @return the index of the row, zero-based
+     * @throws IndexOutOfBoundsException if the failure index is invalid
+     */
+    public int getRow(int failure) {
+        checkIndex(failure);
+        return rows[failure];
+    }
+
+    /**
+     * Gets the reason for a failure.
+     *
+     * @param failure  the index of the failure, from zero to {@code getFailureCount() - 1}
+     * @return the reason, not null
+     * @throws IndexOutOfBoundsException if the failure index is invalid
+     */
+    public Reason getReason(int failure) {
+        checkIndex(failure);
+        return REASONS[reasons[failure]];
+    }
+
+    /**
+     * Gets the index within the row at which the problem was found.
+     *
+     * @param failure  the index of the failure, from zero to {@code getFailureCount() - 1}
+     * @return the index within the row, negative if not known
+     * @throws IndexOutOfBoundsException if the failure index is invalid
+     */
+    public int getErrorOffset(int failure) {
+        checkIndex(failure);
+        return offsets[failure];
+    }
+
+    /**
+     * Checks the index of a failure.
+     *
+     * @param failure  the index of the failure
+     */
+    private void checkIndex(int failure) {
+        if (failure < 0 || failure >= failureCount) {
+            throw new IndexOutOfBoundsException("Invalid failure index: " + failure);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return "ConversionReport[" + targetType.getName() + ", " + failureCount + " of " + rowCount + " rows failed]";
+    }
+
+}
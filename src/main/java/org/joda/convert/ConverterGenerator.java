@@ -0,0 +1,571 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Generates converter classes that call the toString and fromString members directly.
+ * <p>
+ * For a reflective converter, a small final class implementing {@link StringConverter}
+ * is written at runtime. Its {@code convertToString} calls the toString method using
+ * {@code invokevirtual} or {@code invokeinterface}, and its {@code convertFromString}
+ * calls the fromString method using {@code invokestatic} or the constructor using
+ * {@code new} and {@code invokespecial}. No reflection is used after the class is created.
+ * <p>
+ * On JDK 15 and later, the class is defined as a hidden class in the nest of the converted class.
+ * Otherwise it is defined by its own class loader, a child of that of the converted class.
+ * Either way, the class can be unloaded once the converter is no longer referenced.
+ * <p>
+ * A converter is only generated if the members and their classes are public,
+ * the members throw no checked exceptions, and this library is visible from the
+ * class loader of the converted class. Otherwise the reflective converter is used.
+ * <p>
+ * ConverterGenerator is a thread-safe static utility.
+ */
+final class ConverterGenerator {
+
+    /** The suffix added to the name of the converted class. */
+    private static final String SUFFIX = "$$StringConverter";
+    /** The suffix added to the name of the declaring class of a function. */
+    private static final String FUNCTION_SUFFIX = "$$Function";
+    /** The class file version, JDK 1.6, which needs no stack map frames for code without branches. */
+    private static final int VERSION = 50;
+    /** Internal name of the converter interface. */
+    private static final String CONVERTER = "org/joda/convert/StringConverter";
+    /** Descriptor of the converter interface. */
+    private static final String CONVERTER_DESC = "L" + CONVERTER + ";";
+    /** Internal name of the function interface, only referred to by generated functions. */
+    private static final String FUNCTION = "java/util/function/Function";
+    /**
+     * The method defining hidden classes, null if not available on this JDK.
+     */
+    private static final Method HIDDEN_DEFINER;
+    static {
+        Method definer = null;
+        try {
+            Class<?> cls = ConverterGenerator.class.getClassLoader().loadClass("org.joda.convert.HiddenClassDefiner");
+            if (Boolean.TRUE.equals(cls.getDeclaredMethod("isSupported").invoke(null))) {
+                definer = cls.getDeclaredMethod("define", Class.class, byte[].class);
+            }
+        } catch (Throwable ex) {
+            // ignore, hidden classes require JDK 15
+        }
+        HIDDEN_DEFINER = definer;
+    }
+
+    /**
+     * Restricted constructor.
+     */
+    private ConverterGenerator() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Generates a converter equivalent to the reflective converter.
+     * 
+     * @param <T>  the type of the converter
+     * @param conv  the reflective converter, not null
+     * @return the generated converter, null if it cannot be generated
+     */
+    @SuppressWarnings("unchecked")
+    static <T> StringConverter<T> generate(ReflectionStringConverter<T> conv) {
+        Member fromString;
+        if (conv instanceof MethodsStringConverter<?>) {
+            fromString = ((MethodsStringConverter<T>) conv).fromString;
+        } else if (conv instanceof MethodConstructorStringConverter<?>) {
+            fromString = ((MethodConstructorStringConverter<T>) conv).fromString;
+        } else {
+            return null;
+        }
+        Class<T> cls = conv.cls;
+        if (isAccessible(cls, conv.toString) == false || isAccessible(cls, fromString) == false ||
+                isVisible(cls.getClassLoader(), StringConverter.class) == false) {
+            return null;
+        }
+        try {
+            String name = cls.getName() + SUFFIX;
+            byte[] bytes = write(name.replace('.', '/'), conv.toString, fromString, "GeneratedStringConverter[" + cls.getSimpleName() + "]");
+            Class<?> generated = define(cls, name, bytes);
+            return (StringConverter<T>) generated.getConstructor(StringConverter.class).newInstance(conv);
+        } catch (Throwable ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Generates a function calling a public member directly.
+     * <p>
+     * The function implements {@code java.util.function.Function} and is defined by
+     * its own class loader, a child of that of the declaring class, thus the member
+     * need not be visible from this library. This requires JDK 1.8 at runtime.
+     * 
+     * @param member  the instance method with no parameters, static method or constructor, not null
+     * @return the function, not null
+     * @throws Exception if the function cannot be generated
+     */
+    static Object generateFunction(Member member) throws Exception {
+        Class<?> declaringClass = member.getDeclaringClass();
+        if (Modifier.isPublic(member.getModifiers()) == false || Modifier.isPublic(declaringClass.getModifiers()) == false) {
+            throw new IllegalAccessException("Member must be public: " + member);
+        }
+        Class<?>[] params = (member instanceof Method ?
+                ((Method) member).getParameterTypes() : ((Constructor<?>) member).getParameterTypes());
+        boolean isStatic = Modifier.isStatic(member.getModifiers());
+        if (params.length != (isStatic || member instanceof Constructor<?> ? 1 : 0) ||
+                (params.length == 1 && params[0].isPrimitive()) ||
+                (member instanceof Method && ((Method) member).getReturnType().isPrimitive()) ||
+                (isStatic && declaringClass.isInterface()) ||
+                (member instanceof Constructor<?> && Modifier.isAbstract(declaringClass.getModifiers()))) {
+            throw new IllegalArgumentException("Member cannot be called by a generated function: " + member);
+        }
+        String name = declaringClass.getName() + FUNCTION_SUFFIX;
+        byte[] bytes = writeFunction(name.replace('.', '/'), member);
+        Class<?> generated = new GeneratorClassLoader(declaringClass.getClassLoader()).define(name, bytes);
+        return generated.getConstructor().newInstance();
+    }
+
+    /**
+     * Gets the reflective converter that a generated converter was created from.
+     * 
+     * @param conv  the converter, not null
+     * @return the reflective converter, null if not a generated converter
+     */
+    static ReflectionStringConverter<?> sourceOf(StringConverter<?> conv) {
+        if (conv.getClass().getName().contains(SUFFIX) == false) {
+            return null;
+        }
+        try {
+            Object source = conv.getClass().getField("source").get(conv);
+            return (source instanceof ReflectionStringConverter<?> ? (ReflectionStringConverter<?>) source : null);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks if the member can be called directly from a class in another package.
+     * 
+     * @param cls  the converted class, not null
+     * @param member  the member, not null
+     * @return true if accessible
+     */
+    private static boolean isAccessible(Class<?> cls, Member member) {
+        Class<?> declaringClass = member.getDeclaringClass();
+        if (Modifier.isPublic(member.getModifiers()) == false || Modifier.isPublic(declaringClass.getModifiers()) == false) {
+            return false;
+        }
+        if (member instanceof Method && declaringClass.isInterface() && Modifier.isStatic(member.getModifiers())) {
+            return false;  // static interface methods need a later class file version
+        }
+        Class<?>[] exceptionTypes = (member instanceof Method ?
+                ((Method) member).getExceptionTypes() : ((Constructor<?>) member).getExceptionTypes());
+        for (Class<?> exceptionType : exceptionTypes) {
+            if (RuntimeException.class.isAssignableFrom(exceptionType) == false &&
+                    Error.class.isAssignableFrom(exceptionType) == false) {
+                return false;  // the reflective converter wraps checked exceptions
+            }
+        }
+        ClassLoader loader = cls.getClassLoader();
+        if (isVisible(loader, declaringClass) == false) {
+            return false;
+        }
+        if (member instanceof Method) {
+            Method method = (Method) member;
+            for (Class<?> param : method.getParameterTypes()) {
+                if (isVisible(loader, param) == false) {
+                    return false;
+                }
+            }
+            return isVisible(loader, method.getReturnType());
+        }
+        for (Class<?> param : ((Constructor<?>) member).getParameterTypes()) {
+            if (isVisible(loader, param) == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the class is visible from the class loader.
+     * 
+     * @param loader  the class loader, null for the bootstrap loader
+     * @param cls  the class to check, not null
+     * @return true if visible
+     */
+    private static boolean isVisible(ClassLoader loader, Class<?> cls) {
+        if (cls.isPrimitive()) {
+            return false;
+        }
+        try {
+            return Class.forName(cls.getName(), false, loader) == cls;
+        } catch (ClassNotFoundException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Defines the generated class.
+     * 
+     * @param cls  the converted class, not null
+     * @param name  the binary name of the generated class, not null
+     * @param bytes  the class file, not null
+     * @return the generated class, not null
+     * @throws Exception if the class cannot be defined
+     */
+    private static Class<?> define(Class<?> cls, String name, byte[] bytes) throws Exception {
+        if (HIDDEN_DEFINER != null) {
+            try {
+                return (Class<?>) HIDDEN_DEFINER.invoke(null, cls, bytes);
+            } catch (Exception ex) {
+                // ignore, for example if the package is not open, and use a class loader
+            }
+        }
+        return new GeneratorClassLoader(cls.getClassLoader()).define(name, bytes);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Writes the class file.
+     * 
+     * @param name  the internal name of the generated class, not null
+     * @param toString  the toString method, not null
+     * @param fromString  the fromString method or constructor, not null
+     * @param description  the result of the toString method of the converter, not null
+     * @return the class file, not null
+     * @throws IOException if an error occurs
+     */
+    private static byte[] write(String name, Method toString, Member fromString, String description) throws IOException {
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classRef(name);
+        int superClass = pool.classRef("java/lang/Object");
+        int converter = pool.classRef(CONVERTER);
+        int sourceField = pool.fieldRef(name, "source", CONVERTER_DESC);
+        int code = pool.utf8("Code");
+        ByteArrayOutputStream methodsBuf = new ByteArrayOutputStream();
+        DataOutputStream methods = new DataOutputStream(methodsBuf);
+
+        // constructor storing the source
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buf);
+        out.writeByte(0x2a);  // aload_0
+        out.writeByte(0xb7);  // invokespecial
+        out.writeShort(pool.methodRef("java/lang/Object", "<init>", "()V", false));
+        out.writeByte(0x2a);  // aload_0
+        out.writeByte(0x2b);  // aload_1
+        out.writeByte(0xb5);  // putfield
+        out.writeShort(sourceField);
+        out.writeByte(0xb1);  // return
+        writeMethod(methods, pool, code, "<init>", "(" + CONVERTER_DESC + ")V", 2, 2, buf.toByteArray());
+
+        // convertToString
+        buf.reset();
+        Class<?> toStringClass = toString.getDeclaringClass();
+        out.writeByte(0x2b);  // aload_1
+        out.writeByte(0xc0);  // checkcast
+        out.writeShort(pool.classRef(internalName(toStringClass)));
+        if (toStringClass.isInterface()) {
+            out.writeByte(0xb9);  // invokeinterface
+            out.writeShort(pool.methodRef(internalName(toStringClass), toString.getName(), "()Ljava/lang/String;", true));
+            out.writeByte(1);
+            out.writeByte(0);
+        } else {
+            out.writeByte(0xb6);  // invokevirtual
+            out.writeShort(pool.methodRef(internalName(toStringClass), toString.getName(), "()Ljava/lang/String;", false));
+        }
+        out.writeByte(0xb0);  // areturn
+        writeMethod(methods, pool, code, "convertToString", "(Ljava/lang/Object;)Ljava/lang/String;", 1, 2, buf.toByteArray());
+
+        // convertFromString
+        buf.reset();
+        int maxStack;
+        if (fromString instanceof Method) {
+            Method method = (Method) fromString;
+            String desc = "(" + descriptor(method.getParameterTypes()[0]) + ")" + descriptor(method.getReturnType());
+            out.writeByte(0x2b);  // aload_1
+            out.writeByte(0x2c);  // aload_2
+            out.writeByte(0xb8);  // invokestatic
+            out.writeShort(pool.methodRef(internalName(method.getDeclaringClass()), method.getName(), desc, false));
+            out.writeByte(0xb6);  // invokevirtual
+            out.writeShort(pool.methodRef("java/lang/Class", "cast", "(Ljava/lang/Object;)Ljava/lang/Object;", false));
+            maxStack = 2;
+        } else {
+            Constructor<?> con = (Constructor<?>) fromString;
+            String owner = internalName(con.getDeclaringClass());
+            String desc = "(" + descriptor(con.getParameterTypes()[0]) + ")V";
+            out.writeByte(0xbb);  // new
+            out.writeShort(pool.classRef(owner));
+            out.writeByte(0x59);  // dup
+            out.writeByte(0x2c);  // aload_2
+            out.writeByte(0xb7);  // invokespecial
+            out.writeShort(pool.methodRef(owner, "<init>", desc, false));
+            maxStack = 3;
+        }
+        out.writeByte(0xb0);  // areturn
+        writeMethod(methods, pool, code, "convertFromString",
+                "(Ljava/lang/Class;Ljava/lang/String;)Ljava/lang/Object;", maxStack, 3, buf.toByteArray());
+
+        // toString
+        buf.reset();
+        out.writeByte(0x13);  // ldc_w
+        out.writeShort(pool.string(description));
+        out.writeByte(0xb0);  // areturn
+        writeMethod(methods, pool, code, "toString", "()Ljava/lang/String;", 1, 1, buf.toByteArray());
+
+        // the field, written after the methods so that the pool is complete
+        int fieldName = pool.utf8("source");
+        int fieldDesc = pool.utf8(CONVERTER_DESC);
+
+        ByteArrayOutputStream classBuf = new ByteArrayOutputStream();
+        DataOutputStream cf = new DataOutputStream(classBuf);
+        cf.writeInt(0xCAFEBABE);
+        cf.writeShort(0);
+        cf.writeShort(VERSION);
+        pool.writeTo(cf);
+        cf.writeShort(Modifier.PUBLIC | Modifier.FINAL | 0x20);  // ACC_SUPER
+        cf.writeShort(thisClass);
+        cf.writeShort(superClass);
+        cf.writeShort(1);
+        cf.writeShort(converter);
+        cf.writeShort(1);
+        cf.writeShort(Modifier.PUBLIC | Modifier.FINAL);
+        cf.writeShort(fieldName);
+        cf.writeShort(fieldDesc);
+        cf.writeShort(0);
+        cf.writeShort(4);
+        methods.flush();
+        methodsBuf.writeTo(cf);
+        cf.writeShort(0);
+        cf.flush();
+        return classBuf.toByteArray();
+    }
+
+    /**
+     * Writes the class file of a function.
+     * 
+     * @param name  the internal name of the generated class, not null
+     * @param member  the instance method with no parameters, static method or constructor, not null
+     * @return the class file, not null
+     * @throws IOException if an error occurs
+     */
+    private static byte[] writeFunction(String name, Member member) throws IOException {
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classRef(name);
+        int superClass = pool.classRef("java/lang/Object");
+        int function = pool.classRef(FUNCTION);
+        int code = pool.utf8("Code");
+        ByteArrayOutputStream methodsBuf = new ByteArrayOutputStream();
+        DataOutputStream methods = new DataOutputStream(methodsBuf);
+
+        // constructor
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buf);
+        out.writeByte(0x2a);  // aload_0
+        out.writeByte(0xb7);  // invokespecial
+        out.writeShort(pool.methodRef("java/lang/Object", "<init>", "()V", false));
+        out.writeByte(0xb1);  // return
+        writeMethod(methods, pool, code, "<init>", "()V", 1, 1, buf.toByteArray());
+
+        // apply
+        buf.reset();
+        String owner = internalName(member.getDeclaringClass());
+        int maxStack;
+        if (member instanceof Constructor<?>) {
+            Class<?> param = ((Constructor<?>) member).getParameterTypes()[0];
+            out.writeByte(0xbb);  // new
+            out.writeShort(pool.classRef(owner));
+            out.writeByte(0x59);  // dup
+            out.writeByte(0x2b);  // aload_1
+            out.writeByte(0xc0);  // checkcast
+            out.writeShort(pool.classRef(internalName(param)));
+            out.writeByte(0xb7);  // invokespecial
+            out.writeShort(pool.methodRef(owner, "<init>", "(" + descriptor(param) + ")V", false));
+            maxStack = 3;
+        } else {
+            Method method = (Method) member;
+            String returnDesc = descriptor(method.getReturnType());
+            out.writeByte(0x2b);  // aload_1
+            if (Modifier.isStatic(method.getModifiers())) {
+                Class<?> param = method.getParameterTypes()[0];
+                out.writeByte(0xc0);  // checkcast
+                out.writeShort(pool.classRef(internalName(param)));
+                out.writeByte(0xb8);  // invokestatic
+                out.writeShort(pool.methodRef(owner, method.getName(), "(" + descriptor(param) + ")" + returnDesc, false));
+            } else {
+                out.writeByte(0xc0);  // checkcast
+                out.writeShort(pool.classRef(owner));
+                if (method.getDeclaringClass().isInterface()) {
+                    out.writeByte(0xb9);  // invokeinterface
+                    out.writeShort(pool.methodRef(owner, method.getName(), "()" + returnDesc, true));
+                    out.writeByte(1);
+                    out.writeByte(0);
+                } else {
+                    out.writeByte(0xb6);  // invokevirtual
+                    out.writeShort(pool.methodRef(owner, method.getName(), "()" + returnDesc, false));
+                }
+            }
+            maxStack = 1;
+        }
+        out.writeByte(0xb0);  // areturn
+        writeMethod(methods, pool, code, "apply", "(Ljava/lang/Object;)Ljava/lang/Object;", maxStack, 2, buf.toByteArray());
+
+        ByteArrayOutputStream classBuf = new ByteArrayOutputStream();
+        DataOutputStream cf = new DataOutputStream(classBuf);
+        cf.writeInt(0xCAFEBABE);
+        cf.writeShort(0);
+        cf.writeShort(VERSION);
+        pool.writeTo(cf);
+        cf.writeShort(Modifier.PUBLIC | Modifier.FINAL | 0x20);  // ACC_SUPER
+        cf.writeShort(thisClass);
+        cf.writeShort(superClass);
+        cf.writeShort(1);
+        cf.writeShort(function);
+        cf.writeShort(0);
+        cf.writeShort(2);
+        methods.flush();
+        methodsBuf.writeTo(cf);
+        cf.writeShort(0);
+        cf.flush();
+        return classBuf.toByteArray();
+    }
+
+    /**
+     * Writes a public method with a code attribute.
+     */
+    private static void writeMethod(DataOutputStream out, ConstantPool pool, int codeAttr,
+            String name, String desc, int maxStack, int maxLocals, byte[] code) throws IOException {
+        out.writeShort(Modifier.PUBLIC);
+        out.writeShort(pool.utf8(name));
+        out.writeShort(pool.utf8(desc));
+        out.writeShort(1);
+        out.writeShort(codeAttr);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    /**
+     * Gets the internal name of a class, as used by class constants.
+     */
+    private static String internalName(Class<?> cls) {
+        return cls.getName().replace('.', '/');
+    }
+
+    /**
+     * Gets the descriptor of a non-primitive class.
+     */
+    private static String descriptor(Class<?> cls) {
+        return (cls.isArray() ? internalName(cls) : "L" + internalName(cls) + ";");
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The constant pool of the class file being written.
+     */
+    private static final class ConstantPool {
+        /** The indices of the entries written so far. */
+        private final Map<String, Integer> indices = new HashMap<String, Integer>();
+        /** The entries. */
+        private final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        /** The stream writing the entries. */
+        private final DataOutputStream out = new DataOutputStream(buf);
+        /** The next index. */
+        private int next = 1;
+
+        int utf8(String value) throws IOException {
+            Integer index = indices.get("U" + value);
+            if (index == null) {
+                out.writeByte(1);
+                out.writeUTF(value);
+                index = add("U" + value);
+            }
+            return index;
+        }
+
+        int classRef(String internalName) throws IOException {
+            return ref("C" + internalName, 7, utf8(internalName), -1);
+        }
+
+        int string(String value) throws IOException {
+            return ref("S" + value, 8, utf8(value), -1);
+        }
+
+        int fieldRef(String owner, String name, String desc) throws IOException {
+            return ref("F" + owner + '.' + name + desc, 9, classRef(owner), nameAndType(name, desc));
+        }
+
+        int methodRef(String owner, String name, String desc, boolean isInterface) throws IOException {
+            int tag = (isInterface ? 11 : 10);
+            return ref("M" + owner + '.' + name + desc, tag, classRef(owner), nameAndType(name, desc));
+        }
+
+        private int nameAndType(String name, String desc) throws IOException {
+            return ref("N" + name + desc, 12, utf8(name), utf8(desc));
+        }
+
+        private int ref(String key, int tag, int first, int second) throws IOException {
+            Integer index = indices.get(key);
+            if (index == null) {
+                out.writeByte(tag);
+                out.writeShort(first);
+                if (second >= 0) {
+                    out.writeShort(second);
+                }
+                index = add(key);
+            }
+            return index;
+        }
+
+        private int add(String key) {
+            int index = next++;
+            indices.put(key, index);
+            return index;
+        }
+
+        void writeTo(DataOutputStream cf) throws IOException {
+            out.flush();
+            cf.writeShort(next);
+            buf.writeTo(cf);
+        }
+    }
+
+    /**
+     * Class loader defining a single generated class.
+     */
+    private static final class GeneratorClassLoader extends ClassLoader {
+        GeneratorClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The index of annotated classes written by the annotation processor.
+ * <p>
+ * The processor writes {@code META-INF/joda-convert.index} listing each class that declares
+ * {@code @ToString} or {@code @FromString}, together with the annotated members, in the
+ * format of {@link ConverterSnapshot}. The index is read once per class loader, merging
+ * all the index files visible from it, and consulted before the annotations are searched.
+ * <p>
+ * The index is only an accelerator. A class that is not in the index, or whose entry
+ * cannot be used, is handled by searching the annotations as normal.
+ * <p>
+ * ConverterIndex is a thread-safe static utility.
+ */
+final class ConverterIndex {
+
+    /** The name of the index resource, which must match that used by the processor. */
+    static final String RESOURCE = "META-INF/joda-convert.index";
+    /**
+     * The index for each class loader, weakly keyed to allow class unloading.
+     * The values only hold strings, so do not refer back to the class loader.
+     */
+    private static final Map<ClassLoader, Map<String, String[]>> INDEXES = new WeakHashMap<ClassLoader, Map<String, String[]>>();
+
+    /**
+     * Restricted constructor.
+     */
+    private ConverterIndex() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Finds the converter for the class from the index.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if not in the index or it cannot be created
+     */
+    @SuppressWarnings("unchecked")
+    static <T> StringConverter<T> find(Class<T> cls) {
+        ClassLoader loader = cls.getClassLoader();
+        if (loader == null) {
+            return null;
+        }
+        String[] fields = get(loader).get(cls.getName());
+        if (fields == null) {
+            return null;
+        }
+        try {
+            return (StringConverter<T>) ConverterSnapshot.create(cls, fields, loader);
+        } catch (Exception ex) {
+            return null;
+        } catch (LinkageError ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the index for the class loader, reading it if necessary.
+     * 
+     * @param loader  the class loader, not null
+     * @return the index, not null
+     */
+    private static Map<String, String[]> get(ClassLoader loader) {
+        synchronized (INDEXES) {
+            Map<String, String[]> index = INDEXES.get(loader);
+            if (index == null) {
+                index = read(loader);
+                INDEXES.put(loader, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Reads all the index files visible from the class loader.
+     * <p>
+     * Index files that cannot be read or parsed are ignored.
+     * 
+     * @param loader  the class loader, not null
+     * @return the index, not null
+     */
+    private static Map<String, String[]> read(ClassLoader loader) {
+        Map<String, String[]> index = new HashMap<String, String[]>();
+        try {
+            Enumeration<URL> urls = loader.getResources(RESOURCE);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                try {
+                    Reader reader = new InputStreamReader(url.openStream(), "UTF-8");
+                    try {
+                        index.putAll(ConverterSnapshot.parse(reader));
+                    } finally {
+                        reader.close();
+                    }
+                } catch (IOException ex) {
+                    // ignore this index file
+                } catch (IllegalArgumentException ex) {
+                    // ignore this index file
+                }
+            }
+        } catch (IOException ex) {
+            // ignore, no index
+        }
+        return (index.isEmpty() ? Collections.<String, String[]>emptyMap() : index);
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Reads and writes a snapshot of resolved converters.
+ * <p>
+ * The format is line based, with fields separated by a single space.
+ * Blank lines and lines starting with '#' are ignored.
+ * Each converter is described as one of the following:
+ * <pre>
+ *  className JDK enumConstant
+ *  className METHODS toStringClass toStringName fromStringClass fromStringName fromStringParameterClass
+ *  className CONSTRUCTOR toStringClass toStringName fromStringParameterClass
+ *  className GENERATED converterClass
+ * </pre>
+ * The generated form refers to a converter written by the annotation processor.
+ * It is only found in the index written by the processor, see {@link ConverterIndex}.
+ * <p>
+ * ConverterSnapshot is a thread-safe static utility.
+ */
+final class ConverterSnapshot {
+
+    /** The header line. */
+    private static final String HEADER = "# Joda-Convert resolved converters";
+
+    /**
+     * Restricted constructor.
+     */
+    private ConverterSnapshot() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Writes the converters that can be described.
+     * 
+     * @param writer  the writer to write to, not null
+     * @param converters  the converters to write, not null
+     * @throws IOException if an error occurs writing
+     */
+    static void write(Writer writer, Map<Class<?>, StringConverter<?>> converters) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        for (Entry<Class<?>, StringConverter<?>> entry : converters.entrySet()) {
+            String desc = describe(entry.getValue());
+            if (desc != null) {
+                lines.add(entry.getKey().getName() + ' ' + desc);
+            }
+        }
+        Collections.sort(lines);
+        writer.write(HEADER);
+        writer.write('\n');
+        for (String line : lines) {
+            writer.write(line);
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Describes the converter.
+     * 
+     * @param conv  the converter to describe, not null
+     * @return the description, null if it cannot be described
+     */
+    private static String describe(StringConverter<?> conv) {
+        if (conv instanceof TieredStringConverter<?>) {
+            conv = ((TieredStringConverter<?>) conv).source;
+        }
+        ReflectionStringConverter<?> source = ConverterGenerator.sourceOf(conv);
+        if (source != null) {
+            conv = source;
+        }
+        if (conv instanceof JDKStringConverter) {
+            return "JDK " + ((JDKStringConverter) conv).name();
+        }
+        if (conv instanceof MethodsStringConverter<?>) {
+            MethodsStringConverter<?> methods = (MethodsStringConverter<?>) conv;
+            return "METHODS " + describe(methods.toString) + ' ' + describe(methods.fromString) +
+                ' ' + methods.fromString.getParameterTypes()[0].getName();
+        }
+        if (conv instanceof MethodConstructorStringConverter<?>) {
+            MethodConstructorStringConverter<?> methodCon = (MethodConstructorStringConverter<?>) conv;
+            return "CONSTRUCTOR " + describe(methodCon.toString) +
+                ' ' + methodCon.fromString.getParameterTypes()[0].getName();
+        }
+        return null;
+    }
+
+    /**
+     * Describes the method.
+     * 
+     * @param method  the method to describe, not null
+     * @return the description, not null
+     */
+    private static String describe(Method method) {
+        return method.getDeclaringClass().getName() + ' ' + method.getName();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Reads the converters, skipping those that cannot be created.
+     * 
+     * @param reader  the reader to read from, not null
+     * @param classLoader  the class loader to use, not null
+     * @param failed  the list to add the name of each class that could not be read to, not null
+     * @return the converters, not null
+     * @throws IOException if an error occurs reading
+     * @throws IllegalArgumentException if the format is invalid
+     */
+    static Map<Class<?>, StringConverter<?>> read(Reader reader, ClassLoader classLoader, List<String> failed) throws IOException {
+        Map<Class<?>, StringConverter<?>> converters = new HashMap<Class<?>, StringConverter<?>>();
+        for (String[] fields : parse(reader).values()) {
+            try {
+                Class<?> cls = Class.forName(fields[0], false, classLoader);
+                converters.put(cls, create(cls, fields, classLoader));
+            } catch (Exception ex) {
+                // class or method not found, or signature changed
+                failed.add(fields[0]);
+            }
+        }
+        return converters;
+    }
+
+    /**
+     * Parses the lines, without loading any classes.
+     * 
+     * @param reader  the reader to read from, not null
+     * @return the fields of each line, keyed by class name, not null
+     * @throws IOException if an error occurs reading
+     * @throws IllegalArgumentException if the format is invalid
+     */
+    static Map<String, String[]> parse(Reader reader) throws IOException {
+        Map<String, String[]> lines = new LinkedHashMap<String, String[]>();
+        BufferedReader buf = new BufferedReader(reader);
+        String line;
+        while ((line = buf.readLine()) != null) {
+            line = line.trim();
+            if (line.length() == 0 || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(" ");
+            if (fields.length < 3 || fields.length != fieldCount(fields[1])) {
+                throw new IllegalArgumentException("Invalid snapshot line: " + line);
+            }
+            lines.put(fields[0], fields);
+        }
+        return lines;
+    }
+
+    /**
+     * Gets the number of fields for the kind of converter.
+     * 
+     * @param kind  the kind, not null
+     * @return the number of fields, zero if the kind is unknown
+     */
+    private static int fieldCount(String kind) {
+        if (kind.equals("JDK") || kind.equals("GENERATED")) {
+            return 3;
+        }
+        if (kind.equals("METHODS")) {
+            return 7;
+        }
+        if (kind.equals("CONSTRUCTOR")) {
+            return 5;
+        }
+        return 0;
+    }
+
+    /**
+     * Creates the converter from the fields of a parsed line.
+     * <p>
+     * Only the named members are looked up, no annotations are searched.
+     * Members are invoked using reflection until the converter is optimized by the caller.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to create a converter for, not null
+     * @param fields  the fields of the line, not null
+     * @param classLoader  the class loader to use, not null
+     * @return the converter, not null
+     * @throws Exception if the converter cannot be created
+     */
+    static <T> StringConverter<?> create(Class<T> cls, String[] fields, ClassLoader classLoader) throws Exception {
+        String kind = fields[1];
+        if (kind.equals("JDK")) {
+            return JDKStringConverter.valueOf(fields[2]);
+        }
+        if (kind.equals("GENERATED")) {
+            Class<?> generated = Class.forName(fields[2], true, classLoader);
+            return (StringConverter<?>) generated.newInstance();
+        }
+        if (kind.equals("METHODS")) {
+            Method toString = Class.forName(fields[2], false, classLoader).getDeclaredMethod(fields[3]);
+            Class<?> param = Class.forName(fields[6], false, classLoader);
+            Method fromString = Class.forName(fields[4], false, classLoader).getDeclaredMethod(fields[5], param);
+            return new MethodsStringConverter<T>(cls, toString, fromString, false);
+        }
+        Method toString = Class.forName(fields[2], false, classLoader).getDeclaredMethod(fields[3]);
+        Class<?> param = Class.forName(fields[4], false, classLoader);
+        Constructor<T> fromString = cls.getDeclaredConstructor(param);
+        return new MethodConstructorStringConverter<T>(cls, toString, fromString, false);
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2010 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * Optional interface for a converter that can convert part of a {@code CharSequence}.
+ * <p>
+ * A {@link FromStringConverter} requires a {@code String}, thus a caller holding a
+ * buffer, such as a line being parsed, must copy each field to a new string first.
+ * A converter may also implement this interface to convert a range of characters
+ * directly. It is used by {@link StringConvert#convertFromString(Class, CharSequence, int, int)}.
+ * Converters that do not implement it are still supported, with the range copied to a string.
+ * <p>
+ * FromCharSequenceConverter is an interface and must be implemented with care.
+ * Implementations must be immutable and thread-safe.
+ *
+ * @param <T>  the type of the converter
+ * @since 1.4
+ */
+public interface FromCharSequenceConverter<T> {
+
+    /**
+     * Converts the specified object from a range of a {@code CharSequence}.
+     * <p>
+     * The result, including any exception thrown, must be the same as converting
+     * the string {@code str.subSequence(start, end).toString()}.
+     *
+     * @param cls  the class to convert to, not null
+     * @param str  the characters to convert, not null
+     * @param start  the start index, inclusive, valid
+     * @param end  the end index, exclusive, valid
+     * @return the converted object, may be null but generally not
+     */
+    T convertFromString(Class<? extends T> cls, CharSequence str, int start, int end);
+
+}
@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+
+/**
+ * Defines generated converter classes as hidden classes.
+ * <p>
+ * A hidden class is defined in the package and nest of a host class, cannot be
+ * referred to by name, and can be unloaded as soon as it is no longer used.
+ * Hidden classes require JDK 15, so the relevant methods are found by reflection.
+ * This class requires JDK 1.7, is compiled separately at that level,
+ * and is only ever loaded by reflection.
+ * <p>
+ * HiddenClassDefiner is a thread-safe static utility.
+ */
+final class HiddenClassDefiner {
+
+    /** The {@code MethodHandles.privateLookupIn} method, null if not available on this JDK. */
+    private static final Method PRIVATE_LOOKUP_IN;
+    /** The {@code Lookup.defineHiddenClass} method, null if not available on this JDK. */
+    private static final Method DEFINE_HIDDEN_CLASS;
+    /** The options used to define hidden classes, null if not available on this JDK. */
+    private static final Object OPTIONS;
+    static {
+        Method privateLookupIn = null;
+        Method defineHiddenClass = null;
+        Object options = null;
+        try {
+            Class<?> optionClass = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            options = Array.newInstance(optionClass, 1);
+            Array.set(options, 0, enumConstant(optionClass, "NESTMATE"));
+            privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+            defineHiddenClass = MethodHandles.Lookup.class.getMethod(
+                    "defineHiddenClass", byte[].class, boolean.class, options.getClass());
+        } catch (Throwable ex) {
+            // ignore, hidden classes require JDK 15
+            privateLookupIn = null;
+            defineHiddenClass = null;
+            options = null;
+        }
+        PRIVATE_LOOKUP_IN = privateLookupIn;
+        DEFINE_HIDDEN_CLASS = defineHiddenClass;
+        OPTIONS = options;
+    }
+
+    /**
+     * Restricted constructor.
+     */
+    private HiddenClassDefiner() {
+    }
+
+    /**
+     * Gets an enum constant of a class only known at runtime.
+     * 
+     * @param enumClass  the enum class, not null
+     * @param name  the name of the constant, not null
+     * @return the constant, not null
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumConstant(Class<?> enumClass, String name) {
+        return Enum.valueOf((Class<Enum>) enumClass, name);
+    }
+
+    /**
+     * Checks if hidden classes are supported on this JDK.
+     * 
+     * @return true if supported
+     */
+    static boolean isSupported() {
+        return DEFINE_HIDDEN_CLASS != null;
+    }
+
+    /**
+     * Defines a hidden class in the nest of the host.
+     * 
+     * @param host  the host class, not null
+     * @param bytes  the class file, naming a class in the package of the host, not null
+     * @return the hidden class, not null
+     * @throws Exception if the class cannot be defined
+     */
+    static Class<?> define(Class<?> host, byte[] bytes) throws Exception {
+        MethodHandles.Lookup lookup = (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, host, MethodHandles.lookup());
+        MethodHandles.Lookup hidden = (MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(lookup, bytes, true, OPTIONS);
+        return hidden.lookupClass();
+    }
+
+}
@@ -0,0 +1,503 @@
+/*
+ *  Copyright 2010 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.util.UUID;
+
+/**
+ * Scanners that check whether a string can be converted by a JDK converter.
+ * <p>
+ * Each scanner examines a range of characters without creating any objects.
+ * The result is {@link #VALID} if the JDK converter is known to accept the input,
+ * or the index at which the input is known to be invalid.
+ * Forms that only the JDK can decide, such as non-ASCII digits, return {@link #UNKNOWN},
+ * thus the caller must fall back to calling the converter.
+ * <p>
+ * JDKScanner is a thread-safe static utility.
+ */
+final class JDKScanner {
+
+    /** The result when the input is valid. */
+    static final int VALID = -1;
+    /** The result when the scanner cannot decide if the input is valid. */
+    static final int UNKNOWN = -2;
+    /** The constants of each enum, avoiding the clone made by {@code getEnumConstants()}. */
+    private static final ClassCache<Object[]> ENUM_CONSTANTS = new ClassCache<Object[]>() {
+        @Override
+        Object[] computeValue(Class<?> cls) {
+            return cls.getEnumConstants();
+        }
+    };
+
+    /**
+     * Restricted constructor.
+     */
+    private JDKScanner() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Scans a decimal integer, as accepted by {@code Long.parseLong()}, within a range.
+     * <p>
+     * A leading plus sign is only accepted by JDK 1.7 and later, thus is unknown.
+     *
+     * @param str  the string to scan, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @param min  the minimum valid value
+     * @param max  the maximum valid value
+     * @return the result, {@code VALID}, {@code UNKNOWN} or the index of the error
+     */
+    static int scanInteger(CharSequence str, int start, int end, long min, long max) {
+        if (start == end) {
+            return start;
+        }
+        int pos = start;
+        char first = str.charAt(pos);
+        boolean negative = (first == '-');
+        if (first == '+') {
+            return UNKNOWN;
+        }
+        if (negative && ++pos == end) {
+            return pos;
+        }
+        // accumulate negatively, as the negative range is larger
+        long limit = (negative ? min : -max);
+        long multmin = limit / 10;
+        long result = 0;
+        for ( ; pos < end; pos++) {
+            char ch = str.charAt(pos);
+            if (ch > 127) {
+                return UNKNOWN;
+            }
+            if (ch < '0' || ch > '9') {
+                return pos;
+            }
+            int digit = ch - '0';
+            if (result < multmin) {
+                return pos;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return pos;
+            }
+            result -= digit;
+        }
+        return VALID;
+    }
+
+    /**
+     * Scans a decimal integer of any size, as accepted by {@code new BigInteger(String)}.
+     * <p>
+     * A leading plus sign is only accepted by JDK 1.7 and later, thus is unknown.
+     *
+     * @param str  the string to scan, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the result, {@code VALID}, {@code UNKNOWN} or the index of the error
+     */
+    static int scanBigInteger(CharSequence str, int start, int end) {
+        if (start == end) {
+            return start;
+        }
+        int pos = start;
+        char first = str.charAt(pos);
+        if (first == '+') {
+            return UNKNOWN;
+        }
+        if (first == '-' && ++pos == end) {
+            return pos;
+        }
+        for ( ; pos < end; pos++) {
+            char ch = str.charAt(pos);
+            if (ch > 127) {
+                return UNKNOWN;
+            }
+            if (ch < '0' || ch > '9') {
+                return pos;
+            }
+        }
+        return VALID;
+    }
+
+    /**
+     * Scans a decimal, as accepted by {@code new BigDecimal(String)}.
+     * <p>
+     * Exponents of ten or more digits may overflow, thus are unknown.
+     *
+     * @param str  the string to scan, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the result, {@code VALID}, {@code UNKNOWN} or the index of the error
+     */
+    static int scanBigDecimal(CharSequence str, int start, int end) {
+        int pos = scanSign(str, start, end);
+        int significandStart = pos;
+        pos = scanDigits(str, pos, end);
+        int digits = pos - significandStart;
+        if (pos < end && str.charAt(pos) == '.') {
+            int fractionStart = pos + 1;
+            pos = scanDigits(str, fractionStart, end);
+            digits += pos - fractionStart;
+        }
+        if (digits > 0 && pos < end && (str.charAt(pos) == 'e' || str.charAt(pos) == 'E')) {
+            int exponentStart = scanSign(str, pos + 1, end);
+            pos = scanDigits(str, exponentStart, end);
+            if (pos - exponentStart > 9) {
+                return UNKNOWN;
+            }
+            if (pos == exponentStart) {
+                digits = 0;
+            }
+        }
+        if (pos < end && str.charAt(pos) > 127) {
+            return UNKNOWN;
+        }
+        return (digits > 0 && pos == end ? VALID : pos);
+    }
+
+    /**
+     * Scans a floating point number, as accepted by {@code Double.parseDouble()}.
+     * <p>
+     * Hexadecimal floating point is unknown.
+     *
+     * @param str  the string to scan, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the result, {@code VALID}, {@code UNKNOWN} or the index of the error
+     */
+    static int scanDouble(CharSequence str, int start, int end) {
+        // leading and trailing whitespace is trimmed
+        while (start < end && str.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && str.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int pos = scanSign(str, start, end);
+        if (equals("NaN", str, pos, end) || equals("Infinity", str, pos, end)) {
+            return VALID;
+        }
+        if (end - pos > 1 && str.charAt(pos) == '0' && (str.charAt(pos + 1) == 'x' || str.charAt(pos + 1) == 'X')) {
+            return UNKNOWN;
+        }
+        int significandStart = pos;
+        pos = scanDigits(str, pos, end);
+        int digits = pos - significandStart;
+        if (pos < end && str.charAt(pos) == '.') {
+            int fractionStart = pos + 1;
+            pos = scanDigits(str, fractionStart, end);
+            digits += pos - fractionStart;
+        }
+        if (digits > 0 && pos < end && (str.charAt(pos) == 'e' || str.charAt(pos) == 'E')) {
+            int exponentStart = scanSign(str, pos + 1, end);
+            pos = scanDigits(str, exponentStart, end);
+            if (pos == exponentStart) {
+                digits = 0;
+            }
+        }
+        if (digits > 0 && pos < end && "fFdD".indexOf(str.charAt(pos)) >= 0) {
+            pos++;
+        }
+        return (digits > 0 && pos == end ? VALID : pos);
+    }
+
+    /**
+     * Scans the date-time format of the {@code Date} converter, 'yyyy-MM-ddTHH:mm:ss.SSS+hh:mm'.
+     * <p>
+     * The format is parsed leniently, thus only the standard form with digits is known to be valid.
+     *
+     * @param str  the string to scan, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the result, {@code VALID}, {@code UNKNOWN} or the index of the error
+     */
+    static int scanDate(CharSequence str, int start, int end) {
+        if (end - start != 29) {
+            return start;
+        }
+        return scanDateTime(str, start);
+    }
+
+    /**
+     * Scans the format of the {@code Calendar} converter, 'yyyy-MM-ddTHH:mm:ss.SSS+hh:mm[zone]'.
+     * <p>
+     * The format is parsed leniently, thus only the standard form with digits is known to be valid.
+     * Unknown time-zone identifiers are accepted, as {@code TimeZone} treats them as GMT.
+     *
+     * @param str  the string to scan, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the result, {@code VALID}, {@code UNKNOWN} or the index of the error
+     */
+    static int scanCalendar(CharSequence str, int start, int end) {
+        if (end - start < 31 || str.charAt(start + 26) != ':'
+                || str.charAt(start + 29) != '[' || str.charAt(end - 1) != ']') {
+            return start;
+        }
+        return scanDateTime(str, start);
+    }
+
+    /**
+     * Scans the 29 character date-time at the start index.
+     *
+     * @param str  the string to scan, not null
+     * @param start  the start index, inclusive
+     * @return the result, {@code VALID} or {@code UNKNOWN}
+     */
+    private static int scanDateTime(CharSequence str, int start) {
+        String pattern = "dddd-dd-ddTdd:dd:dd.ddd+dd:dd";
+        for (int i = 0; i < 29; i++) {
+            char expected = pattern.charAt(i);
+            char ch = str.charAt(start + i);
+            if (expected == 'd' ? (ch < '0' || ch > '9') : (expected == '+' ? (ch != '+' && ch != '-') : ch != expected)) {
+                return UNKNOWN;
+            }
+        }
+        int offsetHour = (str.charAt(start + 24) - '0') * 10 + (str.charAt(start + 25) - '0');
+        int offsetMinute = (str.charAt(start + 27) - '0') * 10 + (str.charAt(start + 28) - '0');
+        return (offsetHour < 24 && offsetMinute < 60 ? VALID : UNKNOWN);
+    }
+
+    /**
+     * Scans a boolean, matching 'true' or 'false' ignoring case.
+     *
+     * @param str  the string to scan, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the result, {@code VALID} or the index of the error
+     */
+    static int scanBoolean(CharSequence str, int start, int end) {
+        if (equalsIgnoreCase("true", str, start, end) || equalsIgnoreCase("false", str, start, end)) {
+            return VALID;
+        }
+        return start;
+    }
+
+    /**
+     * Scans a single character.
+     *
+     * @param str  the string to scan, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the result, {@code VALID} or the index of the error
+     */
+    static int scanCharacter(CharSequence str, int start, int end) {
+        if (end - start == 1) {
+            return VALID;
+        }
+        return (start == end ? start : start + 1);
+    }
+
+    /**
+     * Scans a UUID in the standard 8-4-4-4-12 hexadecimal form.
+     * <p>
+     * Older JDKs also accept shorter forms, which are unknown.
+     * Input with fewer than four hyphens is always invalid.
+     *
+     * @param str  the string to scan, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the result, {@code VALID}, {@code UNKNOWN} or the index of the error
+     */
+    static int scanUuid(CharSequence str, int start, int end) {
+        int hyphens = 0;
+        boolean standard = (end - start == 36);
+        for (int pos = start; pos < end; pos++) {
+            char ch = str.charAt(pos);
+            int offset = pos - start;
+            if (ch == '-') {
+                hyphens++;
+                standard &= (offset == 8 || offset == 13 || offset == 18 || offset == 23);
+            } else {
+                standard &= (Character.digit(ch, 16) >= 0 && ch <= 127);
+            }
+        }
+        if (hyphens < 4) {
+            return end;
+        }
+        return (standard ? VALID : UNKNOWN);
+    }
+
+    /**
+     * Scans the name of an enum constant.
+     *
+     * @param cls  the enum class, not null
+     * @param str  the string to scan, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the result, {@code VALID}, {@code UNKNOWN} or the index of the error
+     */
+    static int scanEnum(Class<?> cls, CharSequence str, int start, int end) {
+        if (ENUM_CONSTANTS.get(cls) == null) {
+            return UNKNOWN;
+        }
+        return (findEnum(cls, str, start, end) != null ? VALID : start);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Parses a decimal integer that has been scanned as valid.
+     *
+     * @param str  the string to parse, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the value
+     */
+    static long parseInteger(CharSequence str, int start, int end) {
+        boolean negative = (str.charAt(start) == '-');
+        long result = 0;
+        for (int pos = (negative ? start + 1 : start); pos < end; pos++) {
+            result = result * 10 - (str.charAt(pos) - '0');
+        }
+        return (negative ? result : -result);
+    }
+
+    /**
+     * Parses a UUID that has been scanned as valid, thus is in the standard form.
+     *
+     * @param str  the string to parse, not null
+     * @param start  the start index, inclusive
+     * @return the UUID, not null
+     */
+    static UUID parseUuid(CharSequence str, int start) {
+        long most = (parseHex(str, start, start + 8) << 32) |
+                (parseHex(str, start + 9, start + 13) << 16) | parseHex(str, start + 14, start + 18);
+        long least = (parseHex(str, start + 19, start + 23) << 48) | parseHex(str, start + 24, start + 36);
+        return new UUID(most, least);
+    }
+
+    /**
+     * Parses hexadecimal digits that have been scanned as valid.
+     *
+     * @param str  the string to parse, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the value
+     */
+    private static long parseHex(CharSequence str, int start, int end) {
+        long result = 0;
+        for (int pos = start; pos < end; pos++) {
+            result = (result << 4) | Character.digit(str.charAt(pos), 16);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the enum constant with the name.
+     *
+     * @param cls  the enum class, not null
+     * @param str  the string to match, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the constant, null if not found or not an enum
+     */
+    static Object findEnum(Class<?> cls, CharSequence str, int start, int end) {
+        Object[] constants = ENUM_CONSTANTS.get(cls);
+        if (constants != null) {
+            for (Object constant : constants) {
+                if (equals(((Enum<?>) constant).name(), str, start, end)) {
+                    return constant;
+                }
+            }
+        }
+        return null;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Skips an optional plus or minus sign.
+     *
+     * @param str  the string to scan, not null
+     * @param pos  the index to start at
+     * @param end  the end index, exclusive
+     * @return the index after the sign
+     */
+    private static int scanSign(CharSequence str, int pos, int end) {
+        if (pos < end && (str.charAt(pos) == '+' || str.charAt(pos) == '-')) {
+            return pos + 1;
+        }
+        return pos;
+    }
+
+    /**
+     * Skips ASCII digits.
+     *
+     * @param str  the string to scan, not null
+     * @param pos  the index to start at
+     * @param end  the end index, exclusive
+     * @return the index of the first character that is not a digit, or the end index
+     */
+    private static int scanDigits(CharSequence str, int pos, int end) {
+        while (pos < end && str.charAt(pos) >= '0' && str.charAt(pos) <= '9') {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Checks if the range of characters equals the expected string.
+     *
+     * @param expected  the expected string, not null
+     * @param str  the string to check, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return true if equal
+     */
+    static boolean equals(String expected, CharSequence str, int start, int end) {
+        int length = expected.length();
+        if (end - start != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (expected.charAt(i) != str.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the range of characters equals the expected string ignoring case.
+     * <p>
+     * This matches the rules of {@code String.equalsIgnoreCase()}.
+     *
+     * @param expected  the expected string, not null
+     * @param str  the string to check, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return true if equal ignoring case
+     */
+    static boolean equalsIgnoreCase(String expected, CharSequence str, int start, int end) {
+        int length = expected.length();
+        if (end - start != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c1 = expected.charAt(i);
+            char c2 = str.charAt(start + i);
+            if (c1 != c2) {
+                char u1 = Character.toUpperCase(c1);
+                char u2 = Character.toUpperCase(c2);
+                if (u1 != u2 && Character.toLowerCase(u1) != Character.toLowerCase(u2)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+}
@@ -39,12 +39,16 @@ import java.util.concurrent.atomic.AtomicLong;
 /**
  * Conversion between JDK classes and a {@code String}.
  */
-enum JDKStringConverter implements StringConverter<Object> {
+enum JDKStringConverter implements StringConverter<Object>, TryFromStringConverter<Object>, FromCharSequenceConverter<Object> {
 
     /**
      * String converter.
      */
     STRING(String.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.VALID;
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return str;
         }
@@ -53,6 +57,10 @@ enum JDKStringConverter implements StringConverter<Object> {
      * CharSequence converter.
      */
     CHAR_SEQUENCE(CharSequence.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.VALID;
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return str;
         }
@@ -61,6 +69,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * StringBuffer converter.
      */
     STRING_BUFFER(StringBuffer.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.VALID;
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return new StringBuffer(end - start).append(str, start, end);
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return new StringBuffer(str);
         }
@@ -69,6 +85,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * StringBuilder converter.
      */
     STRING_BUILDER(StringBuilder.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.VALID;
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return new StringBuilder(end - start).append(str, start, end);
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return new StringBuilder(str);
         }
@@ -77,6 +101,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * Long converter.
      */
     LONG(Long.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanInteger(str, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return Long.valueOf(JDKScanner.parseInteger(str, start, end));
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return new Long(str);
         }
@@ -86,6 +118,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * Integer converter.
      */
     INTEGER(Integer.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanInteger(str, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return Integer.valueOf((int) JDKScanner.parseInteger(str, start, end));
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return new Integer(str);
         }
@@ -95,6 +135,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * Short converter.
      */
     SHORT (Short.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanInteger(str, start, end, Short.MIN_VALUE, Short.MAX_VALUE);
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return Short.valueOf((short) JDKScanner.parseInteger(str, start, end));
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return new Short(str);
         }
@@ -104,6 +152,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * Byte converter.
      */
     BYTE(Byte.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanInteger(str, start, end, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return Byte.valueOf((byte) JDKScanner.parseInteger(str, start, end));
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return new Byte(str);
         }
@@ -112,6 +168,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * Character converter.
      */
     CHARACTER(Character.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanCharacter(str, start, end);
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return Character.valueOf(str.charAt(start));
+        }
         public Object convertFromString(Class<?> cls, String str) {
             if (str.length() != 1) {
                 throw new IllegalArgumentException("Character value must be a string length 1");
@@ -123,6 +187,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * Boolean converter.
      */
     BOOLEAN(Boolean.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanBoolean(str, start, end);
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return Boolean.valueOf(JDKScanner.equalsIgnoreCase("true", str, start, end));
+        }
         public Object convertFromString(Class<?> cls, String str) {
             if ("true".equalsIgnoreCase(str)) {
                 return Boolean.TRUE;
@@ -137,6 +209,10 @@ enum JDKStringConverter implements StringConverter<Object> {
      * Double converter.
      */
     DOUBLE(Double.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanDouble(str, start, end);
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return new Double(str);
         }
@@ -145,6 +221,10 @@ enum JDKStringConverter implements StringConverter<Object> {
      * Float converter.
      */
     FLOAT(Float.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanDouble(str, start, end);
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return new Float(str);
         }
@@ -153,6 +233,10 @@ enum JDKStringConverter implements StringConverter<Object> {
      * BigInteger converter.
      */
     BIG_INTEGER(BigInteger.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanBigInteger(str, start, end);
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return new BigInteger(str);
         }
@@ -161,6 +245,10 @@ enum JDKStringConverter implements StringConverter<Object> {
      * BigDecimal converter.
      */
     BIG_DECIMAL(BigDecimal.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanBigDecimal(str, start, end);
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return new BigDecimal(str);
         }
@@ -169,6 +257,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * AtomicLong converter.
      */
     ATOMIC_LONG(AtomicLong.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanInteger(str, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return new AtomicLong(JDKScanner.parseInteger(str, start, end));
+        }
         public Object convertFromString(Class<?> cls, String str) {
             long val = Long.parseLong(str);
             return new AtomicLong(val);
@@ -178,6 +274,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * AtomicLong converter.
      */
     ATOMIC_INTEGER(AtomicInteger.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanInteger(str, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return new AtomicInteger((int) JDKScanner.parseInteger(str, start, end));
+        }
         public Object convertFromString(Class<?> cls, String str) {
             int val = Integer.parseInt(str);
             return new AtomicInteger(val);
@@ -187,6 +291,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * AtomicBoolean converter.
      */
     ATOMIC_BOOLEAN(AtomicBoolean.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanBoolean(str, start, end);
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return new AtomicBoolean(JDKScanner.equalsIgnoreCase("true", str, start, end));
+        }
         public Object convertFromString(Class<?> cls, String str) {
             if ("true".equalsIgnoreCase(str)) {
                 return new AtomicBoolean(true);
@@ -201,6 +313,10 @@ enum JDKStringConverter implements StringConverter<Object> {
      * Locale converter.
      */
     LOCALE(Locale.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.VALID;
+        }
         public Object convertFromString(Class<?> cls, String str) {
             String[] split = str.split("_", 3);
             switch (split.length) {
@@ -266,6 +382,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * UUID converter.
      */
     UUID(UUID.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanUuid(str, start, end);
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.parseUuid(str, start);
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return java.util.UUID.fromString(str);
         }
@@ -310,6 +434,10 @@ enum JDKStringConverter implements StringConverter<Object> {
      * File converter.
      */
     FILE(File.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.VALID;
+        }
         public Object convertFromString(Class<?> cls, String str) {
             return new File(str);
         }
@@ -318,6 +446,10 @@ enum JDKStringConverter implements StringConverter<Object> {
      * Date converter.
      */
     DATE(Date.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanDate(str, start, end);
+        }
         @Override
         public String convertToString(Object object) {
             SimpleDateFormat f = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
@@ -341,6 +473,10 @@ enum JDKStringConverter implements StringConverter<Object> {
      * Calendar converter.
      */
     CALENDAR(Calendar.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanCalendar(str, start, end);
+        }
         @Override
         public String convertToString(Object object) {
             if (object instanceof GregorianCalendar == false) {
@@ -375,6 +511,14 @@ enum JDKStringConverter implements StringConverter<Object> {
      * Enum converter.
      */
     ENUM(Enum.class) {
+        @Override
+        int scan(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.scanEnum(cls, str, start, end);
+        }
+        @Override
+        Object parse(Class<?> cls, CharSequence str, int start, int end) {
+            return JDKScanner.findEnum(cls, str, start, end);
+        }
         @SuppressWarnings("rawtypes")
         public String convertToString(Object object) {
             return ((Enum) object).name();  // avoid toString() as that can be overridden
@@ -410,4 +554,102 @@ enum JDKStringConverter implements StringConverter<Object> {
         return object.toString();
     }
 
+    /**
+     * Converts the specified object from a range of a {@code CharSequence}.
+     * <p>
+     * The range is scanned, and if valid, the types that support it are parsed directly
+     * from the characters. Otherwise the range is copied to a string and converted,
+     * thus the result and any exception are the same as converting a string.
+     * 
+     * @param cls  the class to convert to, not null
+     * @param str  the characters to convert, not null
+     * @param start  the start index, inclusive, valid
+     * @param end  the end index, exclusive, valid
+     * @return the converted object, may be null but generally not
+     */
+    public Object convertFromString(Class<?> cls, CharSequence str, int start, int end) {
+        if (scan(cls, str, start, end) == JDKScanner.VALID) {
+            Object parsed = parse(cls, str, start, end);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+        return convertFromString(cls, str.subSequence(start, end).toString());
+    }
+
+    /**
+     * Converts the specified object from a {@code CharSequence}, returning the default if invalid.
+     * <p>
+     * The string is scanned first, thus invalid input is rejected without an exception
+     * for the types that have a scanner.
+     * 
+     * @param cls  the class to convert to, not null
+     * @param str  the string to convert, not null
+     * @param defaultValue  the value to return if the string is invalid, may be null
+     * @return the converted object, or the default value if the string is invalid
+     */
+    public Object tryConvertFromString(Class<?> cls, CharSequence str, Object defaultValue) {
+        if (scan(cls, str, 0, str.length()) >= 0) {
+            return defaultValue;
+        }
+        try {
+            return convertFromString(cls, str.toString());
+        } catch (RuntimeException ex) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Checks if the specified string can be converted.
+     * <p>
+     * The string is scanned, thus for the types that have a scanner the answer
+     * is found without creating the converted object or an exception.
+     * 
+     * @param cls  the class to convert to, not null
+     * @param str  the string to check, not null
+     * @return true if the string can be converted
+     */
+    public boolean isParseable(Class<?> cls, CharSequence str) {
+        int result = scan(cls, str, 0, str.length());
+        if (result != JDKScanner.UNKNOWN) {
+            return result == JDKScanner.VALID;
+        }
+        try {
+            convertFromString(cls, str.toString());
+            return true;
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Scans the string to check whether it can be converted, without creating any objects.
+     * <p>
+     * By default, the result is unknown, and the converter must be called to find out.
+     * 
+     * @param cls  the class to convert to, not null
+     * @param str  the string to scan, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the result, as defined by {@link JDKScanner}
+     */
+    int scan(Class<?> cls, CharSequence str, int start, int end) {
+        return JDKScanner.UNKNOWN;
+    }
+
+    /**
+     * Parses a range of characters that has been scanned as valid, without copying it to a string.
+     * <p>
+     * By default, the range is not parsed directly, and null is returned.
+     * 
+     * @param cls  the class to convert to, not null
+     * @param str  the characters to parse, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the converted object, null if not parsed directly
+     */
+    Object parse(Class<?> cls, CharSequence str, int start, int end) {
+        return null;
+    }
+
 }
@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Factory spinning invokers of methods and constructors using {@code LambdaMetafactory}.
+ * <p>
+ * Each invoker is a class implementing {@link MemberInvoker} whose single method
+ * calls the member directly, exactly as for a method reference in source code.
+ * The call can therefore be inlined by the JIT like a handwritten converter.
+ * <p>
+ * The spun class resolves the types it refers to using the class loader of this library.
+ * Members of classes that are not visible from that loader, such as those loaded by a
+ * child class loader, are rejected and another strategy must be used.
+ * This class requires JDK 1.8, is compiled separately at that level,
+ * and is only ever loaded by reflection.
+ * <p>
+ * LambdaInvokerFactory is a thread-safe static utility.
+ */
+final class LambdaInvokerFactory {
+
+    /** The type of the factory produced by the metafactory. */
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(MemberInvoker.class);
+    /** The erased type of the invoker method. */
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Restricted constructor.
+     */
+    private LambdaInvokerFactory() {
+    }
+
+    /**
+     * Spins an invoker for a method or constructor.
+     * 
+     * @param method  the method, null if constructor
+     * @param constructor  the constructor, null if method
+     * @return the invoker, not null
+     * @throws Throwable if access is denied or the invoker cannot be spun
+     */
+    static MemberInvoker of(Method method, Constructor<?> constructor) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle target = (method != null ? lookup.unreflect(method) : lookup.unreflectConstructor(constructor));
+        Class<?> declaringClass = (method != null ? method.getDeclaringClass() : constructor.getDeclaringClass());
+        checkVisible(declaringClass);
+        checkVisible(target.type().returnType());
+        for (Class<?> param : target.type().parameterArray()) {
+            checkVisible(param);
+        }
+        CallSite site = LambdaMetafactory.metafactory(
+                lookup, "invoke", FACTORY_TYPE, INVOKE_TYPE, target, target.type());
+        return (MemberInvoker) site.getTarget().invoke();
+    }
+
+    /**
+     * Checks that the class is visible from the class loader of this library.
+     * 
+     * @param cls  the class to check, not null
+     * @throws IllegalAccessException if the class is not visible
+     */
+    private static void checkVisible(Class<?> cls) throws IllegalAccessException {
+        if (cls.isPrimitive()) {
+            return;
+        }
+        ClassLoader loader = LambdaInvokerFactory.class.getClassLoader();
+        try {
+            if (Class.forName(cls.getName(), false, loader) == cls) {
+                return;
+            }
+        } catch (ClassNotFoundException ex) {
+            // fall through
+        }
+        throw new IllegalAccessException("Class not visible: " + cls.getName());
+    }
+
+}
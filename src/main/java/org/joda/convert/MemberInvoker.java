@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * Invokes a single method or constructor taking and returning one object.
+ * <p>
+ * The member is one of the following:
+ * <ul>
+ * <li>an instance method with no parameters, invoked on the argument
+ * <li>a static method with one parameter, invoked with the argument
+ * <li>a constructor with one parameter, invoked with the argument
+ * </ul>
+ * Instances are obtained from {@link MemberInvokers}.
+ * <p>
+ * MemberInvoker is an interface and must be implemented with care.
+ * All known implementations are thread-safe and immutable.
+ */
+interface MemberInvoker {
+
+    /**
+     * Invokes the member.
+     * <p>
+     * Exceptions thrown by the member are thrown unwrapped.
+     * 
+     * @param arg  the argument, not null
+     * @return the result, may be null
+     * @throws Throwable if the member throws an exception
+     */
+    Object invoke(Object arg) throws Throwable;
+
+}
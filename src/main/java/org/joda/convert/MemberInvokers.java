@@ -0,0 +1,215 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Factory for invokers of methods and constructors.
+ * <p>
+ * The fastest available strategy is chosen when the invoker is created:
+ * <ul>
+ * <li>on JDK 1.8 and later, a class implementing {@link MemberInvoker} is spun using
+ *  {@code LambdaMetafactory}, which calls the member directly
+ * <li>on JDK 1.7 and later, the member is bound to a {@code MethodHandle} adapted
+ *  to an exact type, avoiding the access checks, argument array and exception
+ *  wrapping of reflection
+ * <li>otherwise, reflection is used
+ * </ul>
+ * A later strategy is used if an earlier one is unavailable on this JDK or
+ * the member cannot be accessed using it.
+ * <p>
+ * MemberInvokers is a thread-safe static utility.
+ */
+final class MemberInvokers {
+
+    /**
+     * The factory for lambda invokers, null if not available on this JDK.
+     */
+    private static final Method LAMBDA_FACTORY = findFactory("org.joda.convert.LambdaInvokerFactory");
+    /**
+     * The factory for method handle invokers, null if not available on this JDK.
+     */
+    private static final Method HANDLE_FACTORY = findFactory("org.joda.convert.MethodHandleInvoker");
+
+    /**
+     * Restricted constructor.
+     */
+    private MemberInvokers() {
+    }
+
+    /**
+     * Finds the factory method of a class that requires a later JDK.
+     * 
+     * @param className  the class name, not null
+     * @return the factory method, null if not available on this JDK
+     */
+    private static Method findFactory(String className) {
+        try {
+            Class<?> cls = MemberInvokers.class.getClassLoader().loadClass(className);
+            return cls.getDeclaredMethod("of", Method.class, Constructor.class);
+        } catch (Throwable ex) {
+            // ignore, class requires a later JDK
+            return null;
+        }
+    }
+
+    /**
+     * Checks if method handles are supported on this JDK.
+     * 
+     * @return true if method handles are used where possible
+     */
+    static boolean isMethodHandleSupported() {
+        return HANDLE_FACTORY != null;
+    }
+
+    /**
+     * Checks if lambda invokers are supported on this JDK.
+     * 
+     * @return true if lambda invokers are used where possible
+     */
+    static boolean isLambdaSupported() {
+        return LAMBDA_FACTORY != null;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains an invoker for a method.
+     * 
+     * @param method  the method to invoke, not null
+     * @return the invoker, not null
+     */
+    static MemberInvoker of(Method method) {
+        MemberInvoker invoker = bind(method, null);
+        return (invoker != null ? invoker : new ReflectionMethodInvoker(method));
+    }
+
+    /**
+     * Obtains an invoker for a constructor.
+     * 
+     * @param constructor  the constructor to invoke, not null
+     * @return the invoker, not null
+     */
+    static MemberInvoker of(Constructor<?> constructor) {
+        MemberInvoker invoker = bind(null, constructor);
+        return (invoker != null ? invoker : new ReflectionConstructorInvoker(constructor));
+    }
+
+    /**
+     * Obtains an invoker for a method using reflection, which is cheap to create.
+     * 
+     * @param method  the method to invoke, not null
+     * @return the invoker, not null
+     */
+    static MemberInvoker reflection(Method method) {
+        return new ReflectionMethodInvoker(method);
+    }
+
+    /**
+     * Obtains an invoker for a constructor using reflection, which is cheap to create.
+     * 
+     * @param constructor  the constructor to invoke, not null
+     * @return the invoker, not null
+     */
+    static MemberInvoker reflection(Constructor<?> constructor) {
+        return new ReflectionConstructorInvoker(constructor);
+    }
+
+    /**
+     * Binds the member using the fastest available strategy.
+     * 
+     * @param method  the method, null if constructor
+     * @param constructor  the constructor, null if method
+     * @return the invoker, null if only reflection is available
+     */
+    private static MemberInvoker bind(Method method, Constructor<?> constructor) {
+        MemberInvoker invoker = bind(LAMBDA_FACTORY, method, constructor);
+        return (invoker != null ? invoker : bind(HANDLE_FACTORY, method, constructor));
+    }
+
+    /**
+     * Binds the member using a factory.
+     * 
+     * @param factory  the factory, null if not available
+     * @param method  the method, null if constructor
+     * @param constructor  the constructor, null if method
+     * @return the invoker, null if the factory is not available or access is denied
+     */
+    private static MemberInvoker bind(Method factory, Method method, Constructor<?> constructor) {
+        if (factory != null) {
+            try {
+                return (MemberInvoker) factory.invoke(null, method, constructor);
+            } catch (Exception ex) {
+                // ignore, use next strategy
+            }
+        }
+        return null;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Invoker using reflection on a method.
+     */
+    static final class ReflectionMethodInvoker implements MemberInvoker {
+        /** The method. */
+        private final Method method;
+        /** Whether the method is static. */
+        private final boolean isStatic;
+
+        ReflectionMethodInvoker(Method method) {
+            this.method = method;
+            this.isStatic = Modifier.isStatic(method.getModifiers());
+        }
+
+        public Object invoke(Object arg) throws Throwable {
+            try {
+                return (isStatic ? method.invoke(null, arg) : method.invoke(arg));
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException("Method is not accessible");
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+
+    /**
+     * Invoker using reflection on a constructor.
+     */
+    static final class ReflectionConstructorInvoker implements MemberInvoker {
+        /** The constructor. */
+        private final Constructor<?> constructor;
+
+        ReflectionConstructorInvoker(Constructor<?> constructor) {
+            this.constructor = constructor;
+        }
+
+        public Object invoke(Object arg) throws Throwable {
+            try {
+                return constructor.newInstance(arg);
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException("Constructor is not accessible");
+            } catch (InstantiationException ex) {
+                throw new IllegalStateException("Constructor is not valid");
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+
+}
@@ -16,7 +16,6 @@
 package org.joda.convert;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
@@ -35,7 +34,9 @@ import java.lang.reflect.Modifier;
 final class MethodConstructorStringConverter<T> extends ReflectionStringConverter<T> {
 
     /** Conversion from a string. */
-    private final Constructor<T> fromString;
+    final Constructor<T> fromString;
+    /** The invoker of the fromString constructor. */
+    private final MemberInvoker fromStringInvoker;
 
     /**
      * Creates an instance using a method and a constructor.
@@ -45,7 +46,19 @@ final class MethodConstructorStringConverter<T> extends ReflectionStringConverte
      * @throws RuntimeException (or subclass) if the method signatures are invalid
      */
     MethodConstructorStringConverter(Class<T> cls, Method toString, Constructor<T> fromString) {
-        super(cls, toString);
+        this(cls, toString, fromString, true);
+    }
+
+    /**
+     * Creates an instance using a method and a constructor.
+     * @param cls  the class this converts for, not null
+     * @param toString  the toString method, not null
+     * @param fromString  the fromString method, not null
+     * @param bind  true to bind the members using the fastest available strategy, false to use reflection
+     * @throws RuntimeException (or subclass) if the method signatures are invalid
+     */
+    MethodConstructorStringConverter(Class<T> cls, Method toString, Constructor<T> fromString, boolean bind) {
+        super(cls, toString, bind);
         if (cls.isInterface() || Modifier.isAbstract(cls.getModifiers()) || cls.isLocalClass() || cls.isMemberClass()) {
             throw new IllegalArgumentException("FromString constructor must be on an instantiable class");
         }
@@ -53,28 +66,24 @@ final class MethodConstructorStringConverter<T> extends ReflectionStringConverte
             throw new IllegalStateException("FromString constructor must be defined on specified class");
         }
         this.fromString = fromString;
+        this.fromStringInvoker = (bind ? MemberInvokers.of(fromString) : MemberInvokers.reflection(fromString));
+    }
+
+    @Override
+    MethodConstructorStringConverter<T> bind() {
+        return new MethodConstructorStringConverter<T>(cls, toString, fromString, true);
     }
 
     //-----------------------------------------------------------------------
-    /**
-     * Converts the {@code String} to an object.
-     * @param cls  the class to convert to, not null
-     * @param str  the string to convert, not null
-     * @return the converted object, may be null but generally not
-     */
-    public T convertFromString(Class<? extends T> cls, String str) {
+    @Override
+    T convertFromString(Class<? extends T> cls, String str, boolean stackless) {
+        Object result;
         try {
-            return fromString.newInstance(str);
-        } catch (IllegalAccessException ex) {
-            throw new IllegalStateException("Constructor is not accessible");
-        } catch (InstantiationException ex) {
-            throw new IllegalStateException("Constructor is not valid");
-        } catch (InvocationTargetException ex) {
-            if (ex.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) ex.getCause();
-            }
-            throw new RuntimeException(ex.getMessage(), ex.getCause());
+            result = fromStringInvoker.invoke(str);
+        } catch (Throwable ex) {
+            throw rethrow(ex, stackless);
         }
+        return this.cls.cast(result);
     }
 
 }
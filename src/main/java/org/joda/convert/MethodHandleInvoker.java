@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Invokes a method or constructor using a {@code MethodHandle}.
+ * <p>
+ * The handle is adapted to the type {@code (Object)Object} once, when bound,
+ * and then called using {@code invokeExact}, which performs no boxing,
+ * access checks or exception wrapping.
+ * This class requires JDK 1.7, is compiled separately at that level,
+ * and is only ever loaded by reflection.
+ * <p>
+ * MethodHandleInvoker is thread-safe and immutable.
+ */
+final class MethodHandleInvoker implements MemberInvoker {
+
+    /** The exact type of every handle. */
+    private static final MethodType TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /** The handle, adapted to the exact type. */
+    private final MethodHandle handle;
+
+    /**
+     * Binds a method or constructor.
+     * 
+     * @param method  the method, null if constructor
+     * @param constructor  the constructor, null if method
+     * @return the invoker, not null
+     * @throws IllegalAccessException if access is denied
+     */
+    static MemberInvoker of(Method method, Constructor<?> constructor) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = (method != null ? lookup.unreflect(method) : lookup.unreflectConstructor(constructor));
+        return new MethodHandleInvoker(handle.asType(TYPE));
+    }
+
+    /**
+     * Creates an instance.
+     * @param handle  the handle of the exact type, not null
+     */
+    private MethodHandleInvoker(MethodHandle handle) {
+        this.handle = handle;
+    }
+
+    //-----------------------------------------------------------------------
+    public Object invoke(Object arg) throws Throwable {
+        return (Object) handle.invokeExact(arg);
+    }
+
+}
@@ -15,7 +15,6 @@
  */
 package org.joda.convert;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
@@ -34,7 +33,9 @@ import java.lang.reflect.Method;
 final class MethodsStringConverter<T> extends ReflectionStringConverter<T> {
 
     /** Conversion from a string. */
-    private final Method fromString;
+    final Method fromString;
+    /** The invoker of the fromString method. */
+    private final MemberInvoker fromStringInvoker;
 
     /**
      * Creates an instance using two methods.
@@ -44,7 +45,19 @@ final class MethodsStringConverter<T> extends ReflectionStringConverter<T> {
      * @throws RuntimeException (or subclass) if the method signatures are invalid
      */
     MethodsStringConverter(Class<T> cls, Method toString, Method fromString) {
-        super(cls, toString);
+        this(cls, toString, fromString, true);
+    }
+
+    /**
+     * Creates an instance using two methods.
+     * @param cls  the class this converts for, not null
+     * @param toString  the toString method, not null
+     * @param fromString  the fromString method, not null
+     * @param bind  true to bind the methods using the fastest available strategy, false to use reflection
+     * @throws RuntimeException (or subclass) if the method signatures are invalid
+     */
+    MethodsStringConverter(Class<T> cls, Method toString, Method fromString, boolean bind) {
+        super(cls, toString, bind);
         if (fromString.getParameterTypes().length != 1) {
             throw new IllegalStateException("FromString method must have one parameter");
         }
@@ -52,30 +65,29 @@ final class MethodsStringConverter<T> extends ReflectionStringConverter<T> {
         if (param != String.class && param != CharSequence.class) {
             throw new IllegalStateException("FromString method must take a String or CharSequence");
         }
-        if (fromString.getReturnType().isAssignableFrom(cls) == false) {
-            throw new IllegalStateException("FromString method must return specified class or a superclass");
+        Class<?> returnType = fromString.getReturnType();
+        if (returnType.isAssignableFrom(cls) == false && cls.isAssignableFrom(returnType) == false) {
+            throw new IllegalStateException("FromString method must return specified class, a superclass or a subclass");
         }
         this.fromString = fromString;
+        this.fromStringInvoker = (bind ? MemberInvokers.of(fromString) : MemberInvokers.reflection(fromString));
+    }
+
+    @Override
+    MethodsStringConverter<T> bind() {
+        return new MethodsStringConverter<T>(cls, toString, fromString, true);
     }
 
     //-----------------------------------------------------------------------
-    /**
-     * Converts the {@code String} to an object.
-     * @param cls  the class to convert to, not null
-     * @param str  the string to convert, not null
-     * @return the converted object, may be null but generally not
-     */
-    public T convertFromString(Class<? extends T> cls, String str) {
+    @Override
+    T convertFromString(Class<? extends T> cls, String str, boolean stackless) {
+        Object result;
         try {
-            return cls.cast(fromString.invoke(null, str));
-        } catch (IllegalAccessException ex) {
-            throw new IllegalStateException("Method is not accessible");
-        } catch (InvocationTargetException ex) {
-            if (ex.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) ex.getCause();
-            }
-            throw new RuntimeException(ex.getMessage(), ex.getCause());
+            result = fromStringInvoker.invoke(str);
+        } catch (Throwable ex) {
+            throw rethrow(ex, stackless);
         }
+        return cls.cast(result);
     }
 
 }
@@ -15,7 +15,6 @@
  */
 package org.joda.convert;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
@@ -34,14 +33,17 @@ abstract class ReflectionStringConverter<T> implements StringConverter<T> {
     final Class<T> cls;
     /** Conversion to a string. */
     final Method toString;
+    /** The invoker of the toString method. */
+    final MemberInvoker toStringInvoker;
 
     /**
      * Creates an instance using two methods.
      * @param cls  the class this converts for, not null
      * @param toString  the toString method, not null
+     * @param bind  true to bind the members using the fastest available strategy, false to use reflection
      * @throws RuntimeException (or subclass) if the method signatures are invalid
      */
-    ReflectionStringConverter(Class<T> cls, Method toString) {
+    ReflectionStringConverter(Class<T> cls, Method toString, boolean bind) {
         if (toString.getParameterTypes().length != 0) {
             throw new IllegalStateException("ToString method must have no parameters");
         }
@@ -50,6 +52,30 @@ abstract class ReflectionStringConverter<T> implements StringConverter<T> {
         }
         this.cls = cls;
         this.toString = toString;
+        this.toStringInvoker = (bind ? MemberInvokers.of(toString) : MemberInvokers.reflection(toString));
+    }
+
+    /**
+     * Creates an equivalent converter binding the members using the fastest available strategy.
+     * <p>
+     * This is used to upgrade a converter created using reflection, which is cheap to create.
+     * @return the bound converter, not null
+     */
+    abstract ReflectionStringConverter<T> bind();
+
+    /**
+     * Creates the fastest equivalent converter.
+     * @param generate  true to try generating a converter class first
+     * @return the generated or bound converter, not null
+     */
+    StringConverter<T> optimize(boolean generate) {
+        if (generate) {
+            StringConverter<T> generated = ConverterGenerator.generate(this);
+            if (generated != null) {
+                return generated;
+            }
+        }
+        return bind();
     }
 
     //-----------------------------------------------------------------------
@@ -60,15 +86,51 @@ abstract class ReflectionStringConverter<T> implements StringConverter<T> {
      */
     public String convertToString(T object) {
         try {
-            return (String) toString.invoke(object);
-        } catch (IllegalAccessException ex) {
-            throw new IllegalStateException("Method is not accessible");
-        } catch (InvocationTargetException ex) {
-            if (ex.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) ex.getCause();
-            }
-            throw new RuntimeException(ex.getMessage(), ex.getCause());
+            return (String) toStringInvoker.invoke(object);
+        } catch (Throwable ex) {
+            throw rethrow(ex, false);
+        }
+    }
+
+    /**
+     * Converts the {@code String} to an object.
+     * @param cls  the class to convert to, not null
+     * @param str  the string to convert, not null
+     * @return the converted object, may be null but generally not
+     */
+    public T convertFromString(Class<? extends T> cls, String str) {
+        return convertFromString(cls, str, false);
+    }
+
+    /**
+     * Converts the {@code String} to an object, choosing how a checked exception is reported.
+     * @param cls  the class to convert to, not null
+     * @param str  the string to convert, not null
+     * @param stackless  true if stackless exceptions are enabled by the caller
+     * @return the converted object, may be null but generally not
+     */
+    abstract T convertFromString(Class<? extends T> cls, String str, boolean stackless);
+
+    /**
+     * Converts an exception thrown by an invoker to a runtime exception.
+     * <p>
+     * A checked exception is wrapped in a {@code ConversionException}.
+     * The wrapper only omits the stack trace if stackless exceptions are enabled.
+     * @param ex  the exception, not null
+     * @param stackless  true if stackless exceptions are enabled by the caller
+     * @return the runtime exception, not null
+     */
+    RuntimeException rethrow(Throwable ex, boolean stackless) {
+        if (ex instanceof RuntimeException) {
+            return (RuntimeException) ex;
+        }
+        if (ex instanceof Error) {
+            throw (Error) ex;
+        }
+        if (stackless) {
+            return new StacklessConversionException(ex.getMessage(), cls, -1, ex);
         }
+        return new ConversionException(ex.getMessage(), cls, -1, ex);
     }
 
     //-----------------------------------------------------------------------
@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2010 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * A conversion exception that does not capture a stack trace.
+ * <p>
+ * Capturing the stack trace walks every frame of the calling thread, which is
+ * expensive with deep framework stacks. This is used when the stack trace is
+ * not wanted, or when the cause already records the same frames.
+ * <p>
+ * The stack trace is captured by the {@code Throwable} constructor, before
+ * any field of a subclass is set, thus the choice is made by the class.
+ */
+final class StacklessConversionException extends ConversionException {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates an instance.
+     * 
+     * @param message  the message, may be null
+     * @param targetType  the type being converted to or from, may be null
+     * @param errorOffset  the index of the error in the input, negative if not known
+     * @param cause  the cause, may be null
+     */
+    StacklessConversionException(String message, Class<?> targetType, int errorOffset, Throwable cause) {
+        super(message, targetType, errorOffset, cause);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Does not capture the stack trace.
+     * 
+     * @return this exception, not null
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+}
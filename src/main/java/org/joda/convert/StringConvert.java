@@ -15,11 +15,26 @@
  */
 package org.joda.convert;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 /**
  * Manager for conversion to and from a {@code String}, acting as the main client interface.
@@ -28,9 +43,70 @@ import java.util.concurrent.ConcurrentMap;
  * or the {@link ToString} and {@link FromString} annotations.
  * <p>
  * StringConvert is thread-safe with concurrent caches.
+ * On JDK 1.7 and later, converters resolved by searching superclasses or annotations
+ * are cached using {@code ClassValue}, and do not prevent class unloading.
  */
 public final class StringConvert {
 
+    /**
+     * The maximum size of the negative cache.
+     */
+    private static final int MAX_UNCONVERTIBLE = 1000;
+    /**
+     * The classes that are registered on first use, mapped to the name of the static factory.
+     * These are registered using the standard toString/parse pattern, only when needed,
+     * as loading them all eagerly is slow, particularly when they are not present.
+     */
+    private static final Map<String, String> LAZY_CLASSES = new HashMap<String, String>();
+    static {
+        // JDK 1.8 classes
+        LAZY_CLASSES.put("java.time.Instant", "parse");
+        LAZY_CLASSES.put("java.time.Duration", "parse");
+        LAZY_CLASSES.put("java.time.LocalDate", "parse");
+        LAZY_CLASSES.put("java.time.LocalTime", "parse");
+        LAZY_CLASSES.put("java.time.LocalDateTime", "parse");
+        LAZY_CLASSES.put("java.time.OffsetTime", "parse");
+        LAZY_CLASSES.put("java.time.OffsetDateTime", "parse");
+        LAZY_CLASSES.put("java.time.ZonedDateTime", "parse");
+        LAZY_CLASSES.put("java.time.Year", "parse");
+        LAZY_CLASSES.put("java.time.YearMonth", "parse");
+        LAZY_CLASSES.put("java.time.MonthDay", "parse");
+        LAZY_CLASSES.put("java.time.Period", "parse");
+        LAZY_CLASSES.put("java.time.ZoneOffset", "of");
+        LAZY_CLASSES.put("java.time.ZoneId", "of");
+        // ThreeTen backport classes
+        LAZY_CLASSES.put("org.threeten.bp.Instant", "parse");
+        LAZY_CLASSES.put("org.threeten.bp.Duration", "parse");
+        LAZY_CLASSES.put("org.threeten.bp.LocalDate", "parse");
+        LAZY_CLASSES.put("org.threeten.bp.LocalTime", "parse");
+        LAZY_CLASSES.put("org.threeten.bp.LocalDateTime", "parse");
+        LAZY_CLASSES.put("org.threeten.bp.OffsetTime", "parse");
+        LAZY_CLASSES.put("org.threeten.bp.OffsetDateTime", "parse");
+        LAZY_CLASSES.put("org.threeten.bp.ZonedDateTime", "parse");
+        LAZY_CLASSES.put("org.threeten.bp.Year", "parse");
+        LAZY_CLASSES.put("org.threeten.bp.YearMonth", "parse");
+        LAZY_CLASSES.put("org.threeten.bp.MonthDay", "parse");
+        LAZY_CLASSES.put("org.threeten.bp.Period", "parse");
+        LAZY_CLASSES.put("org.threeten.bp.ZoneOffset", "of");
+        LAZY_CLASSES.put("org.threeten.bp.ZoneId", "of");
+        // Old ThreeTen/JSR-310 classes v0.6.3 and beyond
+        LAZY_CLASSES.put("javax.time.Instant", "parse");
+        LAZY_CLASSES.put("javax.time.Duration", "parse");
+        LAZY_CLASSES.put("javax.time.calendar.LocalDate", "parse");
+        LAZY_CLASSES.put("javax.time.calendar.LocalTime", "parse");
+        LAZY_CLASSES.put("javax.time.calendar.LocalDateTime", "parse");
+        LAZY_CLASSES.put("javax.time.calendar.OffsetDate", "parse");
+        LAZY_CLASSES.put("javax.time.calendar.OffsetTime", "parse");
+        LAZY_CLASSES.put("javax.time.calendar.OffsetDateTime", "parse");
+        LAZY_CLASSES.put("javax.time.calendar.ZonedDateTime", "parse");
+        LAZY_CLASSES.put("javax.time.calendar.Year", "parse");
+        LAZY_CLASSES.put("javax.time.calendar.YearMonth", "parse");
+        LAZY_CLASSES.put("javax.time.calendar.MonthDay", "parse");
+        LAZY_CLASSES.put("javax.time.calendar.Period", "parse");
+        LAZY_CLASSES.put("javax.time.calendar.ZoneOffset", "of");
+        LAZY_CLASSES.put("javax.time.calendar.ZoneId", "of");
+        LAZY_CLASSES.put("javax.time.calendar.TimeZone", "of");
+    }
     /**
      * An immutable global instance.
      * <p>
@@ -42,7 +118,60 @@ public final class StringConvert {
     /**
      * The cache of converters.
      */
-    private final ConcurrentMap<Class<?>, StringConverter<?>> registered = new ConcurrentHashMap<Class<?>, StringConverter<?>>();
+    private final ConcurrentMap<Class<?>, StringConverter<?>> registered;
+    /**
+     * The cache in front of the registered converters, null if not available on this JDK or a child.
+     */
+    private final ClassCache<StringConverter<?>> cache;
+    /**
+     * The negative cache of classes known to have no converter, weakly keyed to allow class unloading, null if a child.
+     */
+    private final Map<Class<?>, Boolean> unconvertible;
+    /**
+     * The classes whose converter has been resolved rather than registered, weakly keyed to allow class unloading,
+     * null if a child. The value is false if the converter was found by interface or naming convention.
+     */
+    private final Map<Class<?>, Boolean> resolved;
+    /**
+     * The frozen table of converters, null if not frozen.
+     */
+    private final ClassIdentityTable frozen;
+    /**
+     * Whether the JDK converters are included, including those registered on first use.
+     */
+    private final boolean includeJdkConverters;
+    /**
+     * The parent conversion manager, null if none.
+     */
+    private final StringConvert parent;
+    /**
+     * Whether to generate converter classes for annotated and registered methods.
+     */
+    private volatile boolean generateConverters;
+    /**
+     * Whether to find converters using common method naming conventions.
+     */
+    private volatile boolean conventionConverters;
+    /**
+     * The number of conversions before a reflective converter is upgraded, zero if not tiered.
+     */
+    private volatile int tieredThreshold;
+    /**
+     * Whether to report invalid input using a conversion exception without a stack trace.
+     */
+    private volatile boolean stacklessExceptions;
+    /**
+     * The classes currently being resolved, null if a child.
+     */
+    private final ConcurrentMap<Class<?>, ResolutionTask> resolving;
+    /**
+     * The converters read from a snapshot that are being added to the cache, null if a child.
+     */
+    private final ConcurrentMap<Class<?>, StringConverter<?>> restoring;
+    /**
+     * The converters found by a child using naming conventions, null until needed.
+     */
+    private volatile ConcurrentMap<Class<?>, StringConverter<?>> childConventions;
 
     /**
      * Creates a new conversion manager including the JDK converters.
@@ -67,6 +196,7 @@ public final class StringConvert {
      * @param includeJdkConverters  true to include the JDK converters
      */
     public StringConvert(boolean includeJdkConverters) {
+        this(null, includeJdkConverters, null);
         if (includeJdkConverters) {
             for (JDKStringConverter conv : JDKStringConverter.values()) {
                 registered.put(conv.getType(), conv);
@@ -79,70 +209,57 @@ public final class StringConvert {
             registered.put(Float.TYPE, JDKStringConverter.FLOAT);
             registered.put(Double.TYPE, JDKStringConverter.DOUBLE);
             registered.put(Character.TYPE, JDKStringConverter.CHARACTER);
-            // JDK 1.8 classes
-            tryRegister("java.time.Instant", "parse");
-            tryRegister("java.time.Duration", "parse");
-            tryRegister("java.time.LocalDate", "parse");
-            tryRegister("java.time.LocalTime", "parse");
-            tryRegister("java.time.LocalDateTime", "parse");
-            tryRegister("java.time.OffsetTime", "parse");
-            tryRegister("java.time.OffsetDateTime", "parse");
-            tryRegister("java.time.ZonedDateTime", "parse");
-            tryRegister("java.time.Year", "parse");
-            tryRegister("java.time.YearMonth", "parse");
-            tryRegister("java.time.MonthDay", "parse");
-            tryRegister("java.time.Period", "parse");
-            tryRegister("java.time.ZoneOffset", "of");
-            tryRegister("java.time.ZoneId", "of");
-            // ThreeTen backport classes
-            tryRegister("org.threeten.bp.Instant", "parse");
-            tryRegister("org.threeten.bp.Duration", "parse");
-            tryRegister("org.threeten.bp.LocalDate", "parse");
-            tryRegister("org.threeten.bp.LocalTime", "parse");
-            tryRegister("org.threeten.bp.LocalDateTime", "parse");
-            tryRegister("org.threeten.bp.OffsetTime", "parse");
-            tryRegister("org.threeten.bp.OffsetDateTime", "parse");
-            tryRegister("org.threeten.bp.ZonedDateTime", "parse");
-            tryRegister("org.threeten.bp.Year", "parse");
-            tryRegister("org.threeten.bp.YearMonth", "parse");
-            tryRegister("org.threeten.bp.MonthDay", "parse");
-            tryRegister("org.threeten.bp.Period", "parse");
-            tryRegister("org.threeten.bp.ZoneOffset", "of");
-            tryRegister("org.threeten.bp.ZoneId", "of");
-            // Old ThreeTen/JSR-310 classes v0.6.3 and beyond
-            tryRegister("javax.time.Instant", "parse");
-            tryRegister("javax.time.Duration", "parse");
-            tryRegister("javax.time.calendar.LocalDate", "parse");
-            tryRegister("javax.time.calendar.LocalTime", "parse");
-            tryRegister("javax.time.calendar.LocalDateTime", "parse");
-            tryRegister("javax.time.calendar.OffsetDate", "parse");
-            tryRegister("javax.time.calendar.OffsetTime", "parse");
-            tryRegister("javax.time.calendar.OffsetDateTime", "parse");
-            tryRegister("javax.time.calendar.ZonedDateTime", "parse");
-            tryRegister("javax.time.calendar.Year", "parse");
-            tryRegister("javax.time.calendar.YearMonth", "parse");
-            tryRegister("javax.time.calendar.MonthDay", "parse");
-            tryRegister("javax.time.calendar.Period", "parse");
-            tryRegister("javax.time.calendar.ZoneOffset", "of");
-            tryRegister("javax.time.calendar.ZoneId", "of");
-            tryRegister("javax.time.calendar.TimeZone", "of");
-        }
-    }
-
-    /**
-     * Tries to register a class using the standard toString/parse pattern.
-     * 
-     * @param className  the class name, not null
-     */
-    private void tryRegister(String className, String fromStringMethodName) {
-        try {
-            Class<?> cls = getClass().getClassLoader().loadClass(className);
-            registerMethods(cls, "toString", fromStringMethodName);
-        } catch (Exception ex) {
-            // ignore
         }
     }
 
+    /**
+     * Creates a conversion manager, which may be frozen or a child.
+     * <p>
+     * A child only holds the converters registered on it, in a small map.
+     * It has no caches of its own, as it searches that map and then its parent.
+     * 
+     * @param frozen  the frozen table of converters, null if not frozen
+     * @param includeJdkConverters  true to include the JDK converters registered on first use
+     * @param parent  the parent conversion manager, null if none
+     */
+    private StringConvert(ClassIdentityTable frozen, boolean includeJdkConverters, StringConvert parent) {
+        this.frozen = frozen;
+        this.includeJdkConverters = includeJdkConverters;
+        this.parent = parent;
+        if (parent == null) {
+            this.registered = new ConcurrentHashMap<Class<?>, StringConverter<?>>();
+            this.cache = createCache();
+            this.unconvertible = Collections.synchronizedMap(new WeakHashMap<Class<?>, Boolean>());
+            this.resolved = Collections.synchronizedMap(new WeakHashMap<Class<?>, Boolean>());
+            this.resolving = new ConcurrentHashMap<Class<?>, ResolutionTask>();
+            this.restoring = new ConcurrentHashMap<Class<?>, StringConverter<?>>();
+        } else {
+            this.registered = new ConcurrentHashMap<Class<?>, StringConverter<?>>(4, 0.75f, 1);
+            this.cache = null;
+            this.unconvertible = null;
+            this.resolved = null;
+            this.resolving = null;
+            this.restoring = null;
+        }
+    }
+
+    /**
+     * Creates the cache of converters.
+     * 
+     * @return the cache, null if not available on this JDK
+     */
+    private ClassCache<StringConverter<?>> createCache() {
+        if (ClassCache.isSupported() == false) {
+            return null;
+        }
+        return new ClassCache<StringConverter<?>>() {
+            @Override
+            StringConverter<?> computeValue(Class<?> cls) {
+                return lookupConverter(cls);
+            }
+        };
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Converts the specified object to a {@code String}.
@@ -176,72 +293,898 @@ public final class StringConvert {
      * @return the converted string, may be null
      * @throws RuntimeException (or subclass) if unable to convert
      */
-    public <T> String convertToString(Class<T> cls, T object) {
-        if (object == null) {
-            return null;
+    public <T> String convertToString(Class<T> cls, T object) {
+        if (object == null) {
+            return null;
+        }
+        StringConverter<T> conv = findConverter(cls);
+        return conv.convertToString(object);
+    }
+
+    /**
+     * Converts the specified object from a {@code String}.
+     * <p>
+     * This uses {@link #findConverter} to provide the converter.
+     * 
+     * @param <T>  the type to convert to
+     * @param cls  the class to convert to, not null
+     * @param str  the string to convert, null returns null
+     * @return the converted object, may be null
+     * @throws RuntimeException (or subclass) if unable to convert
+     * @throws ConversionException if unable to convert and stackless exceptions are enabled
+     */
+    public <T> T convertFromString(Class<T> cls, String str) {
+        if (str == null) {
+            return null;
+        }
+        StringConverter<T> conv = findConverter(cls);
+        if (stacklessExceptions) {
+            return convertStackless(conv, cls, str, 0, str.length());
+        }
+        return conv.convertFromString(cls, str);
+    }
+
+    /**
+     * Converts the specified object from a range of a {@code CharSequence}.
+     * <p>
+     * This uses {@link #findConverter} to provide the converter.
+     * This allows a field to be converted directly from a buffer, such as a line being parsed,
+     * without first copying it to a new string. The result is the same as converting
+     * {@code str.subSequence(start, end).toString()}. Any error index reported by a
+     * {@link ConversionException} is relative to the start of the whole sequence.
+     * <p>
+     * The converters for JDK types parse integers, booleans, characters, enums, UUIDs
+     * and the string builder types directly from the range.
+     * Converters implementing {@link FromCharSequenceConverter} are passed the range.
+     * For other converters, and other JDK types, the range is copied to a string.
+     * 
+     * @param <T>  the type to convert to
+     * @param cls  the class to convert to, not null
+     * @param str  the characters to convert, null returns null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the converted object, may be null
+     * @throws IndexOutOfBoundsException if the range is invalid
+     * @throws RuntimeException (or subclass) if unable to convert
+     * @throws ConversionException if unable to convert and stackless exceptions are enabled
+     * @since 1.4
+     */
+    public <T> T convertFromString(Class<T> cls, CharSequence str, int start, int end) {
+        if (str == null) {
+            return null;
+        }
+        checkRange(str, start, end);
+        StringConverter<T> conv = findConverter(cls);
+        if (stacklessExceptions) {
+            return convertStackless(conv, cls, str, start, end);
+        }
+        return convertRange(conv, cls, str, start, end);
+    }
+
+    /**
+     * Checks that the range is valid for the sequence.
+     * 
+     * @param str  the characters, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    static void checkRange(CharSequence str, int start, int end) {
+        if (start < 0 || end > str.length() || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range " + start + " to " + end + " for length " + str.length());
+        }
+    }
+
+    /**
+     * Converts a range of characters using the converter.
+     * 
+     * @param <T>  the type to convert to
+     * @param conv  the converter, not null
+     * @param cls  the class to convert to, not null
+     * @param str  the characters to convert, not null
+     * @param start  the start index, inclusive, valid
+     * @param end  the end index, exclusive, valid
+     * @return the converted object, may be null
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T convertRange(StringConverter<T> conv, Class<T> cls, CharSequence str, int start, int end) {
+        if (conv instanceof FromCharSequenceConverter) {
+            return ((FromCharSequenceConverter<T>) conv).convertFromString(cls, str, start, end);
+        }
+        return conv.convertFromString(cls, str.subSequence(start, end).toString());
+    }
+
+    /**
+     * Converts using the converter, reporting invalid input without capturing a stack trace.
+     * <p>
+     * Invalid input is rejected without creating any other exception where possible,
+     * by scanning for JDK types and by using {@link TryFromStringConverter}.
+     * Exceptions thrown by other converters are wrapped.
+     * 
+     * @param <T>  the type to convert to
+     * @param conv  the converter, not null
+     * @param cls  the class to convert to, not null
+     * @param str  the characters to convert, not null
+     * @param start  the start index, inclusive, valid
+     * @param end  the end index, exclusive, valid
+     * @return the converted object, may be null
+     * @throws ConversionException if unable to convert
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T convertStackless(StringConverter<T> conv, Class<T> cls, CharSequence str, int start, int end) {
+        if (conv instanceof JDKStringConverter) {
+            int result = ((JDKStringConverter) conv).scan(cls, str, start, end);
+            if (result >= 0) {
+                throw invalidInput(cls, str.subSequence(start, end), result, null);
+            }
+        } else if (conv instanceof TryFromStringConverter) {
+            TryFromStringConverter<T> tryConv = (TryFromStringConverter<T>) conv;
+            CharSequence range = (start == 0 && end == str.length() ? str : str.subSequence(start, end));
+            T converted = tryConv.tryConvertFromString(cls, range, null);
+            if (converted == null && tryConv.isParseable(cls, range) == false) {
+                throw invalidInput(cls, range, -1, null);
+            }
+            return converted;
+        }
+        try {
+            if (conv instanceof ReflectionStringConverter<?>) {
+                return ((ReflectionStringConverter<T>) conv).convertFromString(cls, str.subSequence(start, end).toString(), true);
+            }
+            return convertRange(conv, cls, str, start, end);
+        } catch (ConversionException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw invalidInput(cls, str.subSequence(start, end), -1, ex);
+        }
+    }
+
+    /**
+     * Creates a conversion exception for invalid input, without a stack trace.
+     * 
+     * @param cls  the class being converted to, not null
+     * @param str  the invalid string, not null
+     * @param offset  the index of the error, negative if not known
+     * @param cause  the cause, null if none
+     * @return the exception, not null
+     */
+    private static ConversionException invalidInput(Class<?> cls, CharSequence str, int offset, RuntimeException cause) {
+        String message = "Invalid input for " + cls.getName() + (offset >= 0 ? " at index " + offset : "") + ": " + str;
+        return new StacklessConversionException(message, cls, offset, cause);
+    }
+
+    /**
+     * Converts the specified object from a {@code CharSequence}, returning a default if invalid.
+     * <p>
+     * This uses {@link #findConverter} to provide the converter.
+     * If the string is invalid, the default value is returned instead of throwing an exception.
+     * The converters for JDK types, and any converter implementing {@link TryFromStringConverter},
+     * reject invalid input without creating an exception.
+     * Exceptions thrown by other converters are caught.
+     * <p>
+     * An exception is still thrown if no converter can be found.
+     * 
+     * @param <T>  the type to convert to
+     * @param cls  the class to convert to, not null
+     * @param str  the string to convert, null returns null
+     * @param defaultValue  the value to return if the string is invalid, may be null
+     * @return the converted object, or the default value if the string is invalid
+     * @throws RuntimeException (or subclass) if no converter found
+     * @since 1.4
+     */
+    public <T> T tryConvertFromString(Class<T> cls, CharSequence str, T defaultValue) {
+        if (str == null) {
+            return null;
+        }
+        StringConverter<T> conv = findConverter(cls);
+        return tryConvert(conv, cls, str, defaultValue);
+    }
+
+    /**
+     * Converts a batch of strings, collecting the failures rather than throwing.
+     * <p>
+     * This uses {@link #findConverter} to provide the converter, which is found once for the batch.
+     * Each converted object is added to the results in order, with null added for a row
+     * that failed to convert, thus the results line up with the input.
+     * A null input row converts to null and is not a failure.
+     * <p>
+     * The failures are returned as a compact report of the row, reason and error index.
+     * Nothing is allocated for a row that converts successfully other than the converted object.
+     * The converters for JDK types, and any converter implementing {@link TryFromStringConverter},
+     * reject invalid input without creating an exception. Exceptions thrown by other converters are caught.
+     * <p>
+     * An exception is still thrown if no converter can be found.
+     * 
+     * @param <T>  the type to convert to
+     * @param cls  the class to convert to, not null
+     * @param strs  the strings to convert, not null
+     * @param results  the collection to add the converted objects to, not null
+     * @return the report of failures, not null
+     * @throws RuntimeException (or subclass) if no converter found
+     * @since 1.4
+     */
+    public <T> ConversionReport convertFromStrings(Class<T> cls, Iterable<? extends CharSequence> strs, Collection<? super T> results) {
+        if (strs == null) {
+            throw new IllegalArgumentException("Strings must not be null");
+        }
+        if (results == null) {
+            throw new IllegalArgumentException("Results must not be null");
+        }
+        StringConverter<T> conv = findConverter(cls);
+        return convertAll(conv, cls, strs, results);
+    }
+
+    /**
+     * Converts a batch of strings using the converter, collecting the failures.
+     * 
+     * @param <T>  the type to convert to
+     * @param conv  the converter, not null
+     * @param cls  the class to convert to, not null
+     * @param strs  the strings to convert, not null
+     * @param results  the collection to add the converted objects to, not null
+     * @return the report of failures, not null
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ConversionReport convertAll(
+            StringConverter<T> conv, Class<T> cls, Iterable<? extends CharSequence> strs, Collection<? super T> results) {
+        JDKStringConverter jdkConv = (conv instanceof JDKStringConverter ? (JDKStringConverter) conv : null);
+        TryFromStringConverter<T> tryConv = null;
+        if (jdkConv == null && conv instanceof TryFromStringConverter) {
+            tryConv = (TryFromStringConverter<T>) conv;
+        }
+        ConversionReport report = new ConversionReport(cls);
+        for (CharSequence str : strs) {
+            report.addRow();
+            T converted = null;
+            if (str != null) {
+                int scan = (jdkConv != null ? jdkConv.scan(cls, str, 0, str.length()) : JDKScanner.UNKNOWN);
+                if (scan >= 0) {
+                    report.addFailure(ConversionReport.Reason.INVALID, scan);
+                } else if (tryConv != null) {
+                    converted = tryConv.tryConvertFromString(cls, str, null);
+                    if (converted == null && tryConv.isParseable(cls, str) == false) {
+                        report.addFailure(ConversionReport.Reason.INVALID, -1);
+                    }
+                } else {
+                    try {
+                        converted = conv.convertFromString(cls, str.toString());
+                    } catch (ConversionException ex) {
+                        report.addFailure(ConversionReport.Reason.INVALID, ex.getErrorOffset());
+                    } catch (IllegalArgumentException ex) {
+                        report.addFailure(ConversionReport.Reason.INVALID, -1);
+                    } catch (RuntimeException ex) {
+                        report.addFailure(ConversionReport.Reason.ERROR, -1);
+                    }
+                }
+            }
+            results.add(converted);
+        }
+        return report;
+    }
+
+    /**
+     * Checks if the specified string can be converted to the type.
+     * <p>
+     * This uses {@link #findConverter} to provide the converter.
+     * The converters for JDK types answer by scanning the string, without creating the
+     * converted object or an exception. The types with a scanner are the primitive types
+     * and their wrappers, {@code BigInteger}, {@code BigDecimal}, {@code UUID}, enums,
+     * {@code Date} and {@code Calendar}, and the string types.
+     * Converters implementing {@link TryFromStringConverter} are asked directly.
+     * Other converters are checked by converting the string, catching any exception.
+     * <p>
+     * An exception is still thrown if no converter can be found.
+     * 
+     * @param <T>  the type to convert to
+     * @param cls  the class to convert to, not null
+     * @param str  the string to check, null returns false
+     * @return true if the string can be converted
+     * @throws RuntimeException (or subclass) if no converter found
+     * @since 1.4
+     */
+    public <T> boolean isParseable(Class<T> cls, CharSequence str) {
+        if (str == null) {
+            return false;
+        }
+        StringConverter<T> conv = findConverter(cls);
+        return isParseable(conv, cls, str);
+    }
+
+    /**
+     * Checks if the string can be converted using the converter.
+     * 
+     * @param <T>  the type to convert to
+     * @param conv  the converter, not null
+     * @param cls  the class to convert to, not null
+     * @param str  the string to check, not null
+     * @return true if the string can be converted
+     */
+    @SuppressWarnings("unchecked")
+    static <T> boolean isParseable(StringConverter<T> conv, Class<T> cls, CharSequence str) {
+        if (conv instanceof TryFromStringConverter) {
+            return ((TryFromStringConverter<T>) conv).isParseable(cls, str);
+        }
+        try {
+            conv.convertFromString(cls, str.toString());
+            return true;
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Converts using the converter, returning a default if invalid.
+     * 
+     * @param <T>  the type to convert to
+     * @param conv  the converter, not null
+     * @param cls  the class to convert to, not null
+     * @param str  the string to convert, not null
+     * @param defaultValue  the value to return if the string is invalid, may be null
+     * @return the converted object, or the default value if the string is invalid
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T tryConvert(StringConverter<T> conv, Class<T> cls, CharSequence str, T defaultValue) {
+        if (conv instanceof TryFromStringConverter) {
+            return ((TryFromStringConverter<T>) conv).tryConvertFromString(cls, str, defaultValue);
+        }
+        try {
+            return conv.convertFromString(cls, str.toString());
+        } catch (RuntimeException ex) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Finds a suitable converter for the type.
+     * <p>
+     * This returns an instance of {@code StringConverter} for the specified class.
+     * This could be useful in other frameworks.
+     * <p>
+     * The search algorithm first searches the registered converters of the class and its superclasses.
+     * It then searches for {@code ToString} and {@code FromString} annotations on the specified class
+     * and its superclasses.
+     * Finally, it searches the registered converters of the interfaces implemented by the class.
+     * For a child, see {@link #createChild()}, a converter registered for exactly the class,
+     * on the child or the parent, is used first. The converters registered on the child for
+     * the superclasses and interfaces are then searched, followed by a full search of the parent.
+     * If enabled, see {@link #setConventionConverters(boolean)}, method naming conventions are checked last.
+     * The order that superclasses and interfaces are searched is computed once per class.
+     * The annotated members of each class are found once and shared by all instances.
+     * <p>
+     * On JDK 1.7 and later the result is also cached against the class using {@code ClassValue}.
+     * Classes without a converter are cached until the next registration.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, not null
+     * @throws RuntimeException (or subclass) if no converter found
+     */
+    public <T> StringConverter<T> findConverter(final Class<T> cls) {
+        if (cls == null) {
+            throw new IllegalArgumentException("Class must not be null");
+        }
+        StringConverter<T> conv = findConverterQuiet(cls);
+        if (conv == null) {
+            throw new IllegalStateException("No registered converter found: " + cls);
+        }
+        return conv;
+    }
+
+    /**
+     * Finds a suitable converter for the type, returning a handle bound to that type.
+     * <p>
+     * This uses {@link #findConverter} to provide the converter.
+     * The returned handle performs conversions without any further lookup,
+     * and is intended to be obtained once and stored.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to find a converter for, not null
+     * @return the bound converter, not null
+     * @throws RuntimeException (or subclass) if no converter found
+     * @since 1.4
+     */
+    public <T> TypedConverter<T> converterFor(final Class<T> cls) {
+        return new TypedConverter<T>(cls, findConverter(cls), stacklessExceptions);
+    }
+
+    /**
+     * Checks if a suitable converter exists for the type.
+     * <p>
+     * This performs the same checks as the {@code findConverter} method.
+     * Classes without a converter are remembered, so repeated checks are cheap.
+     * Any exception, including during annotation processing, is caught and false returned.
+     * 
+     * @param cls  the class to check, null returns false
+     * @return true if the class can be converted, false if not
+     */
+    public boolean isConvertible(final Class<?> cls) {
+        try {
+            return cls != null && findConverterQuiet(cls) != null;
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Finds a suitable converter for the type, returning null if not found.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if no converter found
+     * @throws RuntimeException (or subclass) if the annotations on the class are invalid
+     */
+    @SuppressWarnings("unchecked")
+    <T> StringConverter<T> findConverterQuiet(final Class<T> cls) {
+        if (frozen != null) {
+            StringConverter<T> conv = (StringConverter<T>) frozen.get(cls);
+            if (conv != null) {
+                return conv;
+            }
+        }
+        if (parent != null) {
+            return findChildConverter(cls);
+        }
+        if (cache != null) {
+            return (StringConverter<T>) cache.get(cls);
+        }
+        return lookupConverter(cls);
+    }
+
+    /**
+     * Finds a suitable converter for the type as a child, returning null if not found.
+     * <p>
+     * The search matches that of the root, with the converters registered on this instance
+     * taking precedence over those of the parent at each stage. A converter registered for
+     * exactly the class is used first, then one registered for a superclass, then one found
+     * by the parent from the annotations, before the interfaces are searched.
+     * Nothing is cached, as these searches only examine the few converters registered
+     * on this instance and the cache of the parent.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if no converter found
+     * @throws RuntimeException (or subclass) if the annotations on the class are invalid
+     */
+    @SuppressWarnings("unchecked")
+    private <T> StringConverter<T> findChildConverter(final Class<T> cls) {
+        StringConverter<T> conv = null;
+        if (frozen != null || registered.isEmpty() == false) {
+            conv = (StringConverter<T>) findBeforeInterfaces(cls);
+            if (conv != null) {
+                return conv;
+            }
+            for (Class<?> intf : ClassHierarchy.of(cls).interfaces) {
+                conv = (StringConverter<T>) getInterfaceConverter(intf, cls);
+                if (conv != null) {
+                    return conv;
+                }
+            }
+        }
+        conv = parent.findConverterQuiet(cls);
+        if (conv == null && conventionConverters) {
+            conv = findChildConventionConverter(cls);
+        }
+        return conv;
+    }
+
+    /**
+     * Finds the converter that takes precedence over those registered for interfaces.
+     * <p>
+     * This is a converter registered for exactly the class or a superclass,
+     * on this instance or any parent, or one found from the annotations.
+     * 
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if none found before searching the interfaces
+     * @throws RuntimeException (or subclass) if the annotations on the class are invalid
+     */
+    private StringConverter<?> findBeforeInterfaces(Class<?> cls) {
+        if (parent == null) {
+            StringConverter<?> conv = findConverterQuiet(cls);
+            return (conv != null && resolved.get(cls) != Boolean.FALSE ? conv : null);
+        }
+        StringConverter<?> conv = registered.get(cls);
+        if (conv != null) {
+            return conv;
+        }
+        if (frozen != null || registered.isEmpty() == false) {
+            conv = parent.findExactConverter(cls);
+            if (conv != null) {
+                return conv;
+            }
+            for (Class<?> superclass : ClassHierarchy.of(cls).superclasses) {
+                conv = getRegistered(superclass);
+                if (conv == null) {
+                    conv = parent.findExactConverter(superclass);
+                }
+                if (conv != null) {
+                    return conv;
+                }
+            }
+        }
+        return parent.findBeforeInterfaces(cls);
+    }
+
+    /**
+     * Finds the converter registered for exactly the type, for use by a child.
+     * <p>
+     * This includes the JDK converters, including those registered on first use,
+     * and those registered for exactly the type on any parent.
+     * 
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if none registered
+     */
+    private StringConverter<?> findExactConverter(Class<?> cls) {
+        StringConverter<?> conv = getRegistered(cls);
+        // without the cache, resolved converters are also stored in the registered map
+        if (conv != null && (cache != null || resolved == null || resolved.containsKey(cls) == false)) {
+            return conv;
+        }
+        if (includeJdkConverters && LAZY_CLASSES.containsKey(cls.getName())) {
+            return findConverterQuiet(cls);
+        }
+        return (parent != null ? parent.findExactConverter(cls) : null);
+    }
+
+    /**
+     * Finds the converter using common method naming conventions for a child, caching the result.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if the class does not follow the conventions
+     */
+    @SuppressWarnings("unchecked")
+    private <T> StringConverter<T> findChildConventionConverter(Class<T> cls) {
+        ConcurrentMap<Class<?>, StringConverter<?>> found = childConventions;
+        if (found == null) {
+            synchronized (this) {
+                if (childConventions == null) {
+                    childConventions = new ConcurrentHashMap<Class<?>, StringConverter<?>>(4, 0.75f, 1);
+                }
+                found = childConventions;
+            }
+        }
+        StringConverter<T> conv = (StringConverter<T>) found.get(cls);
+        if (conv == null) {
+            conv = findConventionConverter(cls);
+            if (conv != null) {
+                StringConverter<T> existing = (StringConverter<T>) found.putIfAbsent(cls, conv);
+                conv = (existing != null ? existing : conv);
+            }
+        }
+        return conv;
+    }
+
+    /**
+     * Looks up a suitable converter for the type, bypassing the cache.
+     * <p>
+     * A class with no converter is added to the negative cache.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if no converter found
+     * @throws RuntimeException (or subclass) if the annotations on the class are invalid
+     */
+    @SuppressWarnings("unchecked")
+    <T> StringConverter<T> lookupConverter(final Class<T> cls) {
+        StringConverter<T> conv = (StringConverter<T>) registered.get(cls);
+        if (conv != null) {
+            return conv;
+        }
+        conv = (StringConverter<T>) restoring.get(cls);
+        if (conv != null) {
+            if (resolved.containsKey(cls) == false) {
+                resolved.put(cls, Boolean.TRUE);
+            }
+            return conv;
+        }
+        if (unconvertible.containsKey(cls)) {
+            return null;
+        }
+        return resolveConverterOnce(cls);
+    }
+
+    /**
+     * Resolves a converter for the type, ensuring only one thread resolves each class.
+     * <p>
+     * Other threads resolving the same class at the same time wait for the result.
+     * This avoids repeating the expensive annotation search when a class is first used under load.
+     * If the resolving thread itself asks for the same class, such as from the static initializer
+     * of a converter, the class is resolved again directly, as waiting would never complete.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if no converter found
+     * @throws RuntimeException (or subclass) if the annotations on the class are invalid
+     */
+    @SuppressWarnings("unchecked")
+    private <T> StringConverter<T> resolveConverterOnce(final Class<T> cls) {
+        ResolutionTask task = new ResolutionTask(new Callable<StringConverter<?>>() {
+            public StringConverter<?> call() {
+                return resolveConverter(cls);
+            }
+        });
+        ResolutionTask existing = resolving.putIfAbsent(cls, task);
+        if (existing != null && existing.owner == Thread.currentThread()) {
+            return resolveConverter(cls);
+        }
+        if (existing == null) {
+            try {
+                task.run();
+            } finally {
+                resolving.remove(cls, task);
+            }
+            existing = task;
+        }
+        try {
+            return (StringConverter<T>) existing.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while finding converter: " + cls);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw new RuntimeException(ex.getMessage(), ex.getCause());
+        }
+    }
+
+    /**
+     * Resolves a converter for the type by searching superclasses and annotations.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if no converter found
+     * @throws RuntimeException (or subclass) if the annotations on the class are invalid
+     */
+    @SuppressWarnings("unchecked")
+    private <T> StringConverter<T> resolveConverter(final Class<T> cls) {
+        // check again, as another thread may have completed resolution
+        StringConverter<T> conv = (StringConverter<T>) registered.get(cls);
+        if (conv != null) {
+            return conv;
+        }
+        if (unconvertible.containsKey(cls)) {
+            return null;
+        }
+        conv = findLazyConverter(cls);
+        Boolean found = Boolean.TRUE;
+        if (conv == null) {
+            ClassHierarchy hierarchy = ClassHierarchy.of(cls);
+            for (Class<?> superclass : hierarchy.superclasses) {
+                conv = (StringConverter<T>) getRegistered(superclass);
+                if (conv == null) {
+                    conv = (StringConverter<T>) findLazyConverter(superclass);
+                }
+                if (conv != null) {
+                    break;
+                }
+            }
+            if (conv == null) {
+                conv = findIndexedConverter(cls);
+                if (conv == null) {
+                    conv = findAnnotationConverter(cls);
+                }
+            }
+            if (conv == null) {
+                // a converter registered by a child for an interface takes precedence over those found from here
+                found = Boolean.FALSE;
+                for (Class<?> intf : hierarchy.interfaces) {
+                    conv = (StringConverter<T>) getInterfaceConverter(intf, cls);
+                    if (conv != null) {
+                        break;
+                    }
+                }
+            }
+            if (conv == null && conventionConverters) {
+                conv = findConventionConverter(cls);
+            }
+            if (conv == null) {
+                addUnconvertible(cls);
+                return null;
+            }
+        }
+        return addResolved(cls, conv, found);
+    }
+
+    /**
+     * Gets the registered converter for exactly the specified class.
+     * 
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if none registered
+     */
+    private StringConverter<?> getRegistered(Class<?> cls) {
+        if (frozen != null) {
+            StringConverter<?> conv = frozen.get(cls);
+            if (conv != null) {
+                return conv;
+            }
+        }
+        return registered.get(cls);
+    }
+
+    /**
+     * Gets the converter registered for an interface, if it can convert to the implementing class.
+     * <p>
+     * A JDK converter is only used if it creates an instance of the class. For example,
+     * the {@code CharSequence} converter creates a {@code String}, thus it is not used
+     * for other implementations, such as {@code CharBuffer}.
+     * 
+     * @param intf  the interface to find a converter for, not null
+     * @param cls  the implementing class being converted, not null
+     * @return the converter, null if none registered or not suitable
+     */
+    private StringConverter<?> getInterfaceConverter(Class<?> intf, Class<?> cls) {
+        StringConverter<?> conv = getRegistered(intf);
+        if (conv instanceof JDKStringConverter && cls.isAssignableFrom(((JDKStringConverter) conv).getType()) == false) {
+            return null;
+        }
+        return conv;
+    }
+
+    /**
+     * Finds and registers a converter for one of the classes registered on first use.
+     * <p>
+     * This uses the standard toString/parse pattern, matching the class by name.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if not one of the lazily registered classes
+     */
+    @SuppressWarnings("unchecked")
+    private <T> StringConverter<T> findLazyConverter(Class<T> cls) {
+        if (includeJdkConverters == false) {
+            return null;
+        }
+        String fromStringMethodName = LAZY_CLASSES.get(cls.getName());
+        if (fromStringMethodName == null) {
+            return null;
+        }
+        StringConverter<T> conv;
+        try {
+            Method toString = findToStringMethod(cls, "toString");
+            Method fromString = findFromStringMethod(cls, fromStringMethodName);
+            conv = optimize(new MethodsStringConverter<T>(cls, toString, fromString, false));
+        } catch (RuntimeException ex) {
+            return null;
+        }
+        return addResolved(cls, conv);
+    }
+
+    /**
+     * Adds a resolved converter to the registered converters, unless it is held by the cache.
+     * <p>
+     * When the {@code ClassValue} cache is in use, resolved converters are only stored there.
+     * This ensures that classes, and their class loaders, are not retained after they are unloaded.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class the converter was resolved for, not null
+     * @param conv  the resolved converter, not null
+     * @return the converter to use, not null
+     */
+    private <T> StringConverter<T> addResolved(Class<T> cls, StringConverter<T> conv) {
+        return addResolved(cls, conv, Boolean.TRUE);
+    }
+
+    /**
+     * Adds a resolved converter, recording whether it was found before searching the interfaces.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class the converter was resolved for, not null
+     * @param conv  the resolved converter, not null
+     * @param found  true if found before searching the interfaces, false if found by interface or convention
+     * @return the converter to use, not null
+     */
+    @SuppressWarnings("unchecked")
+    private <T> StringConverter<T> addResolved(Class<T> cls, StringConverter<T> conv, Boolean found) {
+        resolved.put(cls, found);
+        if (cache != null) {
+            return conv;
+        }
+        StringConverter<T> existing = (StringConverter<T>) registered.putIfAbsent(cls, conv);
+        return existing != null ? existing : conv;
+    }
+
+    /**
+     * Adds a class to the negative cache, clearing the cache if it is full.
+     * 
+     * @param cls  the class that has no converter, not null
+     */
+    private void addUnconvertible(Class<?> cls) {
+        if (unconvertible.size() >= MAX_UNCONVERTIBLE) {
+            clearUnconvertible();
         }
-        StringConverter<T> conv = findConverter(cls);
-        return conv.convertToString(object);
+        unconvertible.put(cls, Boolean.TRUE);
     }
 
     /**
-     * Converts the specified object from a {@code String}.
-     * <p>
-     * This uses {@link #findConverter} to provide the converter.
-     * 
-     * @param <T>  the type to convert to
-     * @param cls  the class to convert to, not null
-     * @param str  the string to convert, null returns null
-     * @return the converted object, may be null
-     * @throws RuntimeException (or subclass) if unable to convert
+     * Clears the negative cache, called when it is full or the conventions are enabled.
      */
-    public <T> T convertFromString(Class<T> cls, String str) {
-        if (str == null) {
-            return null;
+    private void clearUnconvertible() {
+        if (unconvertible == null) {
+            return;  // a child has no negative cache
+        }
+        Class<?>[] classes;
+        synchronized (unconvertible) {
+            classes = unconvertible.keySet().toArray(new Class<?>[unconvertible.size()]);
+            unconvertible.clear();
+        }
+        if (cache != null) {
+            for (Class<?> cls : classes) {
+                if (cls != null) {
+                    cache.remove(cls);
+                }
+            }
         }
-        StringConverter<T> conv = findConverter(cls);
-        return conv.convertFromString(cls, str);
     }
 
     /**
-     * Finds a suitable converter for the type.
+     * Invalidates the cached results affected by registering a converter.
      * <p>
-     * This returns an instance of {@code StringConverter} for the specified class.
-     * This could be useful in other frameworks.
-     * <p>
-     * The search algorithm first searches the registered converters.
-     * It then searches for {@code ToString} and {@code FromString} annotations on the specified class.
-     * Both searches consider superclasses, but not interfaces.
+     * Only classes that are, or extend or implement, the specified class are affected.
      * 
-     * @param <T>  the type of the converter
-     * @param cls  the class to find a converter for, not null
-     * @return the converter, not null
-     * @throws RuntimeException (or subclass) if no converter found
+     * @param changed  the class that a converter was registered for, not null
      */
-    @SuppressWarnings("unchecked")
-    public <T> StringConverter<T> findConverter(final Class<T> cls) {
-        if (cls == null) {
-            throw new IllegalArgumentException("Class must not be null");
+    private void invalidate(Class<?> changed) {
+        if (resolved == null) {
+            return;  // a child searches its registered converters on each lookup
         }
-        StringConverter<T> conv = (StringConverter<T>) registered.get(cls);
-        if (conv == null) {
-            if (cls == Object.class) {
-                throw new IllegalStateException("No registered converter found: " + cls);
+        resolved.remove(changed);
+        if (cache != null) {
+            cache.remove(changed);
+        }
+        for (Class<?> cls : removeAffected(unconvertible, changed)) {
+            if (cache != null) {
+                cache.remove(cls);
             }
-            Class<?> loopCls = cls.getSuperclass();
-            while (loopCls != null && conv == null) {
-                conv = (StringConverter<T>) registered.get(loopCls);
-                loopCls = loopCls.getSuperclass();
+        }
+        for (Class<?> cls : removeAffected(resolved, changed)) {
+            registered.remove(cls);
+            if (cache != null) {
+                cache.remove(cls);
             }
-            if (conv == null) {
-                conv = findAnnotationConverter(cls);
-                if (conv == null) {
-                    throw new IllegalStateException("No registered converter found: " + cls);
+        }
+    }
+
+    /**
+     * Removes the classes affected by a change from the set.
+     * 
+     * @param classes  the synchronized set of classes, not null
+     * @param changed  the class that a converter was registered for, not null
+     * @return the removed classes, not null
+     */
+    private static List<Class<?>> removeAffected(Map<Class<?>, Boolean> classes, Class<?> changed) {
+        List<Class<?>> affected = new ArrayList<Class<?>>();
+        synchronized (classes) {
+            for (Iterator<Class<?>> it = classes.keySet().iterator(); it.hasNext(); ) {
+                Class<?> cls = it.next();
+                if (changed.isAssignableFrom(cls)) {
+                    it.remove();
+                    affected.add(cls);
                 }
             }
-            registered.putIfAbsent(cls, conv);
         }
-        return conv;
+        return affected;
+    }
+
+    /**
+     * Gets the number of classes strongly referenced by this conversion manager.
+     * <p>
+     * This is the number of classes that will not be unloaded while this instance is in use.
+     * It includes classes with a registered converter, classes in a frozen table, classes
+     * found by a child using naming conventions and, on JDK 1.6 only, classes whose converter
+     * was resolved by searching superclasses or annotations.
+     * On JDK 1.7 and later, resolved converters are stored using {@code ClassValue}
+     * and do not prevent the class or its class loader from being garbage collected.
+     * Classes known to have no converter are weakly referenced and not included.
+     * 
+     * @return the number of classes strongly referenced
+     * @since 1.4
+     */
+    public int getRetainedClassCount() {
+        Map<Class<?>, StringConverter<?>> conventions = childConventions;
+        return registered.size() + (frozen != null ? frozen.size() : 0) + (conventions != null ? conventions.size() : 0);
     }
 
     /**
@@ -265,10 +1208,58 @@ public final class StringConvert {
             throw new IllegalStateException("Both method and constructor are annotated with @FromString");
         }
         if (con != null) {
-            return new MethodConstructorStringConverter<T>(cls, toString, con);
+            return optimize(new MethodConstructorStringConverter<T>(cls, toString, con, false));
         } else {
-            return new MethodsStringConverter<T>(cls, toString, fromString);
+            return optimize(new MethodsStringConverter<T>(cls, toString, fromString, false));
+        }
+    }
+
+    /**
+     * Finds the converter from the index written at compile time by the annotation processor.
+     * <p>
+     * This avoids searching the annotations of the class and its superclasses.
+     * A converter generated by the processor is only used if it is listed in the index,
+     * thus no class is ever looked up by name speculatively.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if the class is not in the index
+     */
+    private <T> StringConverter<T> findIndexedConverter(Class<T> cls) {
+        StringConverter<T> conv = ConverterIndex.find(cls);
+        if (conv instanceof ReflectionStringConverter<?>) {
+            return optimize((ReflectionStringConverter<T>) conv);
+        }
+        return conv;
+    }
+
+    /**
+     * Finds the converter using common method naming conventions.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class to find a converter for, not null
+     * @return the converter, null if the class does not follow the conventions
+     * @see #setConventionConverters(boolean)
+     */
+    private <T> StringConverter<T> findConventionConverter(Class<T> cls) {
+        ReflectionStringConverter<T> conv = ConventionMethods.createConverter(cls);
+        return (conv != null ? optimize(conv) : null);
+    }
+
+    /**
+     * Optimizes a reflective converter, binding it, generating a converter class if enabled,
+     * or wrapping it to do so once used enough if tiering is enabled.
+     * 
+     * @param <T>  the type of the converter
+     * @param conv  the reflective converter, invoking members using reflection, not null
+     * @return the converter to use, not null
+     */
+    private <T> StringConverter<T> optimize(ReflectionStringConverter<T> conv) {
+        int threshold = tieredThreshold;
+        if (threshold > 0) {
+            return new TieredStringConverter<T>(conv, threshold, generateConverters, this);
         }
+        return conv.optimize(generateConverters);
     }
 
     /**
@@ -278,22 +1269,15 @@ public final class StringConvert {
      * @return the method to call, null means use {@code toString}
      */
     private Method findToStringMethod(Class<?> cls) {
-        Method matched = null;
         Class<?> loopCls = cls;
-        while (loopCls != null && matched == null) {
-            Method[] methods = loopCls.getDeclaredMethods();
-            for (Method method : methods) {
-                ToString toString = method.getAnnotation(ToString.class);
-                if (toString != null) {
-                    if (matched != null) {
-                        throw new IllegalStateException("Two methods are annotated with @ToString");
-                    }
-                    matched = method;
-                }
+        while (loopCls != null) {
+            Method matched = AnnotationMetadata.of(loopCls).getToStringMethod();
+            if (matched != null) {
+                return matched;
             }
             loopCls = loopCls.getSuperclass();
         }
-        return matched;
+        return null;
     }
 
     /**
@@ -304,18 +1288,7 @@ public final class StringConvert {
      * @return the method to call, null means use {@code toString}
      */
     private <T> Constructor<T> findFromStringConstructor(Class<T> cls) {
-        Constructor<T> con;
-        try {
-            con = cls.getDeclaredConstructor(String.class);
-        } catch (NoSuchMethodException ex) {
-            try {
-                con = cls.getDeclaredConstructor(CharSequence.class);
-            } catch (NoSuchMethodException ex2) {
-                return null;
-            }
-        }
-        FromString fromString = con.getAnnotation(FromString.class);
-        return fromString != null ? con : null;
+        return AnnotationMetadata.of(cls).getFromStringConstructor(cls);
     }
 
     /**
@@ -325,25 +1298,15 @@ public final class StringConvert {
      * @return the method to call, null means use {@code toString}
      */
     private Method findFromStringMethod(Class<?> cls, boolean searchSuperclasses) {
-        Method matched = null;
         Class<?> loopCls = cls;
-        while (loopCls != null && matched == null) {
-            Method[] methods = loopCls.getDeclaredMethods();
-            for (Method method : methods) {
-                FromString fromString = method.getAnnotation(FromString.class);
-                if (fromString != null) {
-                    if (matched != null) {
-                        throw new IllegalStateException("Two methods are annotated with @ToString");
-                    }
-                    matched = method;
-                }
-            }
-            if (searchSuperclasses == false) {
-                break;
+        while (loopCls != null) {
+            Method matched = AnnotationMetadata.of(loopCls).getFromStringMethod();
+            if (matched != null || searchSuperclasses == false) {
+                return matched;
             }
             loopCls = loopCls.getSuperclass();
         }
-        return matched;
+        return null;
     }
 
     //-----------------------------------------------------------------------
@@ -351,14 +1314,16 @@ public final class StringConvert {
      * Registers a converter for a specific type.
      * <p>
      * The converter will be used for subclasses unless overidden.
+     * If the class is an interface, the converter will be used for implementations
+     * that have no converter from a superclass or annotations.
      * <p>
-     * No new converters may be registered for the global singleton.
+     * No new converters may be registered for the global singleton or a frozen instance.
      * 
      * @param <T>  the type of the converter
      * @param cls  the class to register a converter for, not null
      * @param converter  the String converter, not null
      * @throws IllegalArgumentException if the class or converter are null
-     * @throws IllegalStateException if trying to alter the global singleton
+     * @throws IllegalStateException if trying to alter the global singleton or a frozen instance
      */
     public <T> void register(final Class<T> cls, StringConverter<T> converter) {
         if (cls == null ) {
@@ -367,10 +1332,9 @@ public final class StringConvert {
         if (converter == null) {
             throw new IllegalArgumentException("StringConverter must not be null");
         }
-        if (this == INSTANCE) {
-            throw new IllegalStateException("Global singleton cannot be extended");
-        }
+        checkMutable();
         registered.put(cls, converter);
+        invalidate(cls);
     }
 
     /**
@@ -382,29 +1346,24 @@ public final class StringConvert {
      *  sc.register(Distance.class, Distance::toString, Distance::parse);
      * </pre>
      * The converter will be used for subclasses unless overidden.
+     * If the class is an interface, the converter will be used for implementations
+     * that have no converter from a superclass or annotations.
      * <p>
-     * No new converters may be registered for the global singleton.
+     * No new converters may be registered for the global singleton or a frozen instance.
      * 
      * @param <T>  the type of the converter
      * @param cls  the class to register a converter for, not null
      * @param toString  the to String converter, typically a method reference, not null
      * @param fromString  the from String converter, typically a method reference, not null
      * @throws IllegalArgumentException if the class or converter are null
-     * @throws IllegalStateException if trying to alter the global singleton
+     * @throws IllegalStateException if trying to alter the global singleton or a frozen instance
      * @since 1.3
      */
     public <T> void register(final Class<T> cls, final ToStringConverter<T> toString, final FromStringConverter<T> fromString) {
         if (fromString == null || toString == null) {
             throw new IllegalArgumentException("Converters must not be null");
         }
-        register(cls, new StringConverter<T>() {
-            public String convertToString(T object) {
-                return toString.convertToString(object);
-            }
-            public T convertFromString(Class<? extends T> cls, String str) {
-                return fromString.convertFromString(cls, str);
-            }
-        });
+        register(cls, new PairStringConverter<T>(toString, fromString));
     }
 
     /**
@@ -414,8 +1373,10 @@ public final class StringConvert {
      * The two method names must obey the same rules as defined by the annotations
      * {@link ToString} and {@link FromString}.
      * The converter will be used for subclasses unless overidden.
+     * If the class is an interface, the converter will be used for implementations
+     * that have no converter from a superclass or annotations.
      * <p>
-     * No new converters may be registered for the global singleton.
+     * No new converters may be registered for the global singleton or a frozen instance.
      * <p>
      * For example, {@code convert.registerMethods(Distance.class, "toString", "parse");}
      * 
@@ -424,7 +1385,7 @@ public final class StringConvert {
      * @param toStringMethodName  the name of the method converting to a string, not null
      * @param fromStringMethodName  the name of the method converting from a string, not null
      * @throws IllegalArgumentException if the class or method name are null or invalid
-     * @throws IllegalStateException if trying to alter the global singleton
+     * @throws IllegalStateException if trying to alter the global singleton or a frozen instance
      */
     public <T> void registerMethods(final Class<T> cls, String toStringMethodName, String fromStringMethodName) {
         if (cls == null ) {
@@ -433,13 +1394,11 @@ public final class StringConvert {
         if (toStringMethodName == null || fromStringMethodName == null) {
             throw new IllegalArgumentException("Method names must not be null");
         }
-        if (this == INSTANCE) {
-            throw new IllegalStateException("Global singleton cannot be extended");
-        }
+        checkMutable();
         Method toString = findToStringMethod(cls, toStringMethodName);
         Method fromString = findFromStringMethod(cls, fromStringMethodName);
-        MethodsStringConverter<T> converter = new MethodsStringConverter<T>(cls, toString, fromString);
-        registered.putIfAbsent(cls, converter);
+        MethodsStringConverter<T> converter = new MethodsStringConverter<T>(cls, toString, fromString, false);
+        registerIfAbsent(cls, optimize(converter));
     }
 
     /**
@@ -449,8 +1408,10 @@ public final class StringConvert {
      * The two method name and constructor must obey the same rules as defined by the annotations
      * {@link ToString} and {@link FromString}.
      * The converter will be used for subclasses unless overidden.
+     * If the class is an interface, the converter will be used for implementations
+     * that have no converter from a superclass or annotations.
      * <p>
-     * No new converters may be registered for the global singleton.
+     * No new converters may be registered for the global singleton or a frozen instance.
      * <p>
      * For example, {@code convert.registerMethodConstructor(Distance.class, "toString");}
      * 
@@ -458,7 +1419,7 @@ public final class StringConvert {
      * @param cls  the class to register a converter for, not null
      * @param toStringMethodName  the name of the method converting to a string, not null
      * @throws IllegalArgumentException if the class or method name are null or invalid
-     * @throws IllegalStateException if trying to alter the global singleton
+     * @throws IllegalStateException if trying to alter the global singleton or a frozen instance
      */
     public <T> void registerMethodConstructor(final Class<T> cls, String toStringMethodName) {
         if (cls == null ) {
@@ -467,13 +1428,28 @@ public final class StringConvert {
         if (toStringMethodName == null) {
             throw new IllegalArgumentException("Method name must not be null");
         }
-        if (this == INSTANCE) {
-            throw new IllegalStateException("Global singleton cannot be extended");
-        }
+        checkMutable();
         Method toString = findToStringMethod(cls, toStringMethodName);
         Constructor<T> fromString = findFromStringConstructorByType(cls);
-        MethodConstructorStringConverter<T> converter = new MethodConstructorStringConverter<T>(cls, toString, fromString);
-        registered.putIfAbsent(cls, converter);
+        MethodConstructorStringConverter<T> converter = new MethodConstructorStringConverter<T>(cls, toString, fromString, false);
+        registerIfAbsent(cls, optimize(converter));
+    }
+
+    /**
+     * Registers a converter unless one is already registered.
+     * <p>
+     * A converter that was resolved, rather than registered, is replaced.
+     * 
+     * @param cls  the class to register a converter for, not null
+     * @param converter  the String converter, not null
+     */
+    private void registerIfAbsent(Class<?> cls, StringConverter<?> converter) {
+        if (resolved != null && resolved.remove(cls) != null && cache == null) {
+            registered.remove(cls);
+        }
+        if (registered.putIfAbsent(cls, converter) == null) {
+            invalidate(cls);
+        }
     }
 
     /**
@@ -539,6 +1515,433 @@ public final class StringConvert {
         }
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Writes a snapshot of the converters that have been resolved.
+     * <p>
+     * The snapshot lists each class whose converter was resolved, rather than registered,
+     * together with how it is converted - a JDK converter, a pair of methods or a method
+     * and constructor. Converters of any other kind are not written.
+     * The snapshot is a simple text format, one class per line.
+     * <p>
+     * The snapshot is intended to be written at the end of a training run and read
+     * using {@link #readSnapshot} when a later process starts.
+     * <p>
+     * A child only writes the converters it found using naming conventions,
+     * as its other converters are registered or resolved by the parent.
+     * 
+     * @param writer  the writer to write to, not null
+     * @throws IOException if an error occurs writing
+     * @since 1.4
+     */
+    public void writeSnapshot(Writer writer) throws IOException {
+        if (writer == null) {
+            throw new IllegalArgumentException("Writer must not be null");
+        }
+        Class<?>[] classes;
+        if (resolved != null) {
+            synchronized (resolved) {
+                classes = resolved.keySet().toArray(new Class<?>[resolved.size()]);
+            }
+        } else {
+            Map<Class<?>, StringConverter<?>> conventions = childConventions;
+            classes = (conventions != null ? conventions.keySet().toArray(new Class<?>[0]) : new Class<?>[0]);
+        }
+        Map<Class<?>, StringConverter<?>> converters = new HashMap<Class<?>, StringConverter<?>>();
+        for (Class<?> cls : classes) {
+            if (cls != null) {
+                StringConverter<?> conv = findConverterQuiet(cls);
+                if (conv != null) {
+                    converters.put(cls, conv);
+                }
+            }
+        }
+        ConverterSnapshot.write(writer, converters);
+    }
+
+    /**
+     * Reads a snapshot of resolved converters, avoiding the need to search for them.
+     * <p>
+     * The snapshot must have been written by {@link #writeSnapshot}.
+     * Each converter in the snapshot is created directly from the named methods
+     * and constructors, without searching superclasses or annotations.
+     * Classes that cannot be loaded, and converters whose methods no longer
+     * match, are not restored and will be resolved as normal. The number of such
+     * entries is returned, allowing a stale snapshot to be detected and rewritten.
+     * Converters that are already registered take precedence, including those registered
+     * for a superclass or interface of the class, thus those entries are skipped.
+     * The converters are held in the same way as resolved converters, thus on JDK 1.7
+     * and later they do not prevent the classes from being unloaded.
+     * <p>
+     * No converters may be added to the global singleton, a frozen instance or a child.
+     * A child uses the converters resolved by its parent, thus the snapshot should be read by the parent.
+     * 
+     * @param reader  the reader to read from, not null
+     * @param classLoader  the class loader to load classes with, not null
+     * @return the number of entries that could not be restored, zero if all were restored or skipped
+     * @throws IOException if an error occurs reading
+     * @throws IllegalArgumentException if the snapshot format is invalid
+     * @throws IllegalStateException if trying to alter the global singleton, a frozen instance or a child
+     * @since 1.4
+     */
+    public int readSnapshot(Reader reader, ClassLoader classLoader) throws IOException {
+        if (reader == null || classLoader == null) {
+            throw new IllegalArgumentException("Reader and ClassLoader must not be null");
+        }
+        checkMutable();
+        if (parent != null) {
+            throw new IllegalStateException("Child instance cannot read a snapshot");
+        }
+        List<String> failed = new ArrayList<String>();
+        for (Entry<Class<?>, StringConverter<?>> entry : ConverterSnapshot.read(reader, classLoader, failed).entrySet()) {
+            Class<?> cls = entry.getKey();
+            if (registered.containsKey(cls) || hasRegisteredAncestor(cls)) {
+                continue;
+            }
+            StringConverter<?> conv = entry.getValue();
+            if (conv instanceof ReflectionStringConverter<?>) {
+                conv = optimize((ReflectionStringConverter<?>) conv);
+            }
+            if (restore(cls, conv) == false) {
+                failed.add(cls.getName());
+            }
+        }
+        return failed.size();
+    }
+
+    /**
+     * Checks if a converter is registered for a superclass or interface of the class.
+     * <p>
+     * Converters resolved for a superclass are not included, as they are not registered.
+     * 
+     * @param cls  the class to check, not null
+     * @return true if a converter is registered for a superclass or interface
+     */
+    private boolean hasRegisteredAncestor(Class<?> cls) {
+        ClassHierarchy hierarchy = ClassHierarchy.of(cls);
+        for (Class<?> superclass : hierarchy.superclasses) {
+            if (getRegistered(superclass) != null && resolved.containsKey(superclass) == false) {
+                return true;
+            }
+        }
+        for (Class<?> intf : hierarchy.interfaces) {
+            if (getInterfaceConverter(intf, cls) != null && resolved.containsKey(intf) == false) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a converter read from a snapshot as though it had been resolved.
+     * <p>
+     * When the {@code ClassValue} cache is in use, the converter is stored there by resolving
+     * the class while the converter is being restored. This ensures that the class,
+     * and its class loader, are not retained, as per any other resolved converter.
+     * 
+     * @param cls  the class the converter was read for, not null
+     * @param conv  the converter, not null
+     * @return true if the converter was added
+     */
+    @SuppressWarnings("unchecked")
+    private boolean restore(Class<?> cls, StringConverter<?> conv) {
+        unconvertible.remove(cls);
+        if (cache == null) {
+            return addResolved((Class<Object>) cls, (StringConverter<Object>) conv) == conv;
+        }
+        restoring.put(cls, conv);
+        try {
+            cache.remove(cls);
+            return cache.get(cls) == conv;
+        } finally {
+            restoring.remove(cls, conv);
+        }
+    }
+
+    /**
+     * Replaces a tiered converter with the converter it has been upgraded to.
+     * <p>
+     * Later lookups then return the upgraded converter directly, avoiding the cost of the wrapper.
+     * Nothing is replaced if the class now has a different converter, such as after registration.
+     * 
+     * @param <T>  the type of the converter
+     * @param cls  the class the converter was created for, not null
+     * @param tiered  the tiered converter that was upgraded, not null
+     * @param upgraded  the upgraded converter, not null
+     */
+    <T> void replaceUpgraded(Class<T> cls, TieredStringConverter<T> tiered, StringConverter<T> upgraded) {
+        ConcurrentMap<Class<?>, StringConverter<?>> conventions = childConventions;
+        if (conventions != null && conventions.replace(cls, tiered, upgraded)) {
+            return;
+        }
+        boolean replaced = registered.replace(cls, tiered, upgraded);
+        if (cache != null && cache.get(cls) == tiered) {
+            if (replaced) {
+                // the cache is computed from the registered converters
+                cache.remove(cls);
+                return;
+            }
+            restoring.put(cls, upgraded);
+            try {
+                cache.remove(cls);
+                cache.get(cls);
+            } finally {
+                restoring.remove(cls, upgraded);
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Creates a frozen copy of this conversion manager.
+     * <p>
+     * The frozen copy contains all converters registered so far, plus converters
+     * for the specified classes, which are resolved immediately.
+     * The converters are held in an immutable table keyed by class identity,
+     * avoiding the cost of the concurrent map for the known classes.
+     * Other classes, such as those with annotations, are still resolved and cached as normal.
+     * <p>
+     * No new converters may be registered for the frozen copy.
+     * 
+     * @param classes  the additional classes to resolve converters for, not null
+     * @return the frozen copy, not null
+     * @throws RuntimeException (or subclass) if no converter found for one of the classes
+     * @since 1.4
+     */
+    public StringConvert freeze(Class<?>... classes) {
+        if (classes == null) {
+            throw new IllegalArgumentException("Classes must not be null");
+        }
+        Map<Class<?>, StringConverter<?>> map = new HashMap<Class<?>, StringConverter<?>>();
+        if (frozen != null) {
+            frozen.copyInto(map);
+        }
+        map.putAll(registered);
+        for (Class<?> cls : classes) {
+            map.put(cls, findConverter(cls));
+        }
+        StringConvert copy = new StringConvert(new ClassIdentityTable(map), includeJdkConverters, parent);
+        copy.generateConverters = generateConverters;
+        copy.conventionConverters = conventionConverters;
+        copy.tieredThreshold = tieredThreshold;
+        copy.stacklessExceptions = stacklessExceptions;
+        return copy;
+    }
+
+    /**
+     * Creates a child conversion manager that overlays this one.
+     * <p>
+     * The child starts with no converters of its own, and holds only a small map
+     * of the converters registered on it, so it is cheap to create.
+     * A converter registered for exactly the class, on the child and then on this instance,
+     * the parent, is used first. The converters registered on the child for the superclasses
+     * and interfaces are then searched. Otherwise, the lookup falls through to the parent,
+     * which also handles annotations and caches the results.
+     * This allows many children, such as one per tenant, to share the converters
+     * and annotation search results of a single parent.
+     * <p>
+     * The child does not cache results of its own, other than converters it finds using
+     * naming conventions, thus a lookup searches the converters registered on the child each time.
+     * A frozen parent, see {@link #freeze}, is recommended.
+     * 
+     * @return the child conversion manager, not null
+     * @since 1.4
+     */
+    public StringConvert createChild() {
+        StringConvert child = new StringConvert(null, false, this);
+        child.generateConverters = generateConverters;
+        child.conventionConverters = conventionConverters;
+        child.tieredThreshold = tieredThreshold;
+        child.stacklessExceptions = stacklessExceptions;
+        return child;
+    }
+
+    /**
+     * Sets whether converter classes are generated for annotated and registered methods.
+     * <p>
+     * By default, converters found using {@link ToString} and {@link FromString},
+     * or registered using {@link #registerMethods} and {@link #registerMethodConstructor},
+     * call the methods and constructors using reflection or method handles.
+     * When enabled, a small class implementing {@link StringConverter} is generated
+     * at runtime for each such converter, calling the methods and constructors directly.
+     * Generation costs more when the converter is first created, but each conversion is then
+     * as fast as a handwritten converter.
+     * <p>
+     * A converter is only generated if the methods and constructors, and their classes, are public
+     * and the methods and constructors do not declare checked exceptions.
+     * Otherwise, the standard converter is used.
+     * The setting only affects converters created after it is changed.
+     * It is copied by {@link #freeze} and {@link #createChild}.
+     * <p>
+     * The setting cannot be changed for the global singleton or a frozen instance.
+     * 
+     * @param generate  true to generate converter classes
+     * @throws IllegalStateException if trying to alter the global singleton or a frozen instance
+     * @since 1.4
+     */
+    public void setGenerateConverters(boolean generate) {
+        checkMutable();
+        this.generateConverters = generate;
+    }
+
+    /**
+     * Sets whether converters are found using common method naming conventions.
+     * <p>
+     * By default, a class is only convertible if a converter is registered, or it is
+     * annotated with {@link ToString} and {@link FromString}. When enabled, a class that
+     * has no other converter is also convertible if it overrides {@code toString()} and
+     * declares a public static method taking a {@code String} or {@code CharSequence}
+     * named {@code parse}, {@code of}, {@code valueOf} or {@code fromString}, checked in that order.
+     * This is equivalent to calling {@link #registerMethods} with the matched names,
+     * except that the factory method must be declared by the class itself.
+     * This allows classes that cannot be annotated, such as those in other libraries, to be converted.
+     * <p>
+     * The conventions are checked once per class, and the result shared by all instances.
+     * Enabling the setting clears the cache of classes found to have no converter.
+     * It is copied by {@link #freeze} and {@link #createChild}.
+     * <p>
+     * The setting cannot be changed for the global singleton or a frozen instance.
+     * 
+     * @param conventions  true to find converters using naming conventions
+     * @throws IllegalStateException if trying to alter the global singleton or a frozen instance
+     * @since 1.4
+     */
+    public void setConventionConverters(boolean conventions) {
+        checkMutable();
+        this.conventionConverters = conventions;
+        if (conventions) {
+            clearUnconvertible();
+        }
+    }
+
+    /**
+     * Sets the number of conversions after which a reflective converter is upgraded.
+     * <p>
+     * Converters found using {@link ToString} and {@link FromString}, registered using
+     * {@link #registerMethods} and {@link #registerMethodConstructor}, or found using
+     * naming conventions, call the methods and constructors indirectly.
+     * By default, they are bound when created using the fastest strategy available on this JDK,
+     * such as method handles, and a converter class is generated if {@link #setGenerateConverters}
+     * is enabled. This costs time and memory for every class converted, even those converted rarely.
+     * <p>
+     * When the threshold is set, such converters instead start using reflection, which is cheap
+     * to create, and count the conversions. Once the threshold is reached, the converter is
+     * upgraded to the bound or generated form, as per tiered compilation in the JVM.
+     * Classes converted rarely keep the cheap form, while frequently converted classes
+     * become fast without the need to configure them individually.
+     * <p>
+     * The setting only affects converters created after it is changed.
+     * It is copied by {@link #freeze} and {@link #createChild}.
+     * <p>
+     * The setting cannot be changed for the global singleton or a frozen instance.
+     * 
+     * @param threshold  the number of conversions before upgrading, zero to bind when created
+     * @throws IllegalArgumentException if the threshold is negative
+     * @throws IllegalStateException if trying to alter the global singleton or a frozen instance
+     * @since 1.4
+     */
+    public void setTieredThreshold(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative");
+        }
+        checkMutable();
+        this.tieredThreshold = threshold;
+    }
+
+    /**
+     * Sets whether invalid input is reported using a conversion exception without a stack trace.
+     * <p>
+     * By default, {@link #convertFromString} throws whatever exception the converter throws,
+     * such as {@code NumberFormatException}. Each exception captures a stack trace, walking
+     * every frame of the calling thread, which is expensive when invalid input is common.
+     * <p>
+     * When enabled, invalid input is instead reported by throwing a {@link ConversionException}
+     * without a stack trace, recording the type and, where known, the index of the error.
+     * The converters for JDK types, and any converter implementing {@link TryFromStringConverter},
+     * reject invalid input without creating any other exception.
+     * Exceptions thrown by other converters are wrapped, retaining them as the cause.
+     * <p>
+     * The setting applies to {@link #convertFromString} and to converters obtained
+     * from {@link #converterFor} after it is changed.
+     * It is copied by {@link #freeze} and {@link #createChild}.
+     * <p>
+     * The setting cannot be changed for the global singleton or a frozen instance.
+     * 
+     * @param stackless  true to throw conversion exceptions without a stack trace
+     * @throws IllegalStateException if trying to alter the global singleton or a frozen instance
+     * @since 1.4
+     */
+    public void setStacklessExceptions(boolean stackless) {
+        checkMutable();
+        this.stacklessExceptions = stackless;
+    }
+
+    /**
+     * Checks that this instance can be altered.
+     * 
+     * @throws IllegalStateException if this is the global singleton or frozen
+     */
+    private void checkMutable() {
+        if (this == INSTANCE) {
+            throw new IllegalStateException("Global singleton cannot be extended");
+        }
+        if (frozen != null) {
+            throw new IllegalStateException("Frozen instance cannot be extended");
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Task resolving the converter for a class, recording the thread that runs it.
+     */
+    private static final class ResolutionTask extends FutureTask<StringConverter<?>> {
+        /** The thread that created, and thus runs, the task. */
+        final Thread owner = Thread.currentThread();
+
+        /**
+         * Creates an instance.
+         * @param callable  the resolution to run, not null
+         */
+        ResolutionTask(Callable<StringConverter<?>> callable) {
+            super(callable);
+        }
+    }
+
+    /**
+     * Converter formed from a pair of separate converters.
+     * <p>
+     * This is a static class, not capturing the conversion manager, as converters are stored
+     * against the converted class using {@code ClassValue}. A value that referred back to the
+     * manager, and thus to its {@code ClassValue}, would prevent the manager from being
+     * garbage collected for as long as the converted class is loaded.
+     * 
+     * @param <T>  the type of the converter
+     */
+    private static final class PairStringConverter<T> implements StringConverter<T> {
+        /** The to String converter. */
+        private final ToStringConverter<T> toString;
+        /** The from String converter. */
+        private final FromStringConverter<T> fromString;
+
+        /**
+         * Creates an instance.
+         * @param toString  the to String converter, not null
+         * @param fromString  the from String converter, not null
+         */
+        PairStringConverter(ToStringConverter<T> toString, FromStringConverter<T> fromString) {
+            this.toString = toString;
+            this.fromString = fromString;
+        }
+
+        public String convertToString(T object) {
+            return toString.convertToString(object);
+        }
+
+        public T convertFromString(Class<? extends T> cls, String str) {
+            return fromString.convertFromString(cls, str);
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Returns a simple string representation of the object.
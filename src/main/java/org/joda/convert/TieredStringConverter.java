@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Converter that starts using reflection and is upgraded once it has been used enough.
+ * <p>
+ * A reflective converter is cheap to create, but each call is slower than a converter
+ * bound using method handles or lambdas, or generated as a class. Creating those costs
+ * more, which is wasted on classes that are converted rarely. This converter counts the
+ * conversions, and once the threshold is reached, replaces the converter it delegates to
+ * with the fastest available, in the manner of tiered compilation.
+ * <p>
+ * Once upgraded, the conversion manager that created this converter is asked to replace it
+ * with the upgraded converter, thus this wrapper is only called while cold. Callers that
+ * retained this instance, and frozen tables, which cannot be changed, continue to use it.
+ * The upgrade itself happens once.
+ * <p>
+ * TieredStringConverter is thread-safe.
+ * 
+ * @param <T>  the type of the converter
+ */
+final class TieredStringConverter<T> implements StringConverter<T> {
+
+    /** The reflective converter used until upgraded. */
+    final ReflectionStringConverter<T> source;
+    /** The number of conversions before upgrading. */
+    private final int threshold;
+    /** Whether to try generating a converter class when upgrading. */
+    private final boolean generate;
+    /** The conversion manager to replace this converter in once upgraded, weakly held as it may cache this converter. */
+    private final WeakReference<StringConvert> owner;
+    /** The converter currently in use. */
+    private volatile StringConverter<T> target;
+    /** The number of conversions, stopping when upgraded. */
+    private final AtomicInteger calls = new AtomicInteger();
+
+    /**
+     * Creates an instance.
+     * @param source  the reflective converter to use until upgraded, not null
+     * @param threshold  the number of conversions before upgrading, one or more
+     * @param generate  true to try generating a converter class when upgrading
+     * @param owner  the conversion manager to replace this converter in once upgraded, not null
+     */
+    TieredStringConverter(ReflectionStringConverter<T> source, int threshold, boolean generate, StringConvert owner) {
+        this.source = source;
+        this.threshold = threshold;
+        this.generate = generate;
+        this.owner = new WeakReference<StringConvert>(owner);
+        this.target = source;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Converts the object to a {@code String}.
+     * @param object  the object to convert, not null
+     * @return the converted string, may be null but generally not
+     */
+    public String convertToString(T object) {
+        return target().convertToString(object);
+    }
+
+    /**
+     * Converts the {@code String} to an object.
+     * @param cls  the class to convert to, not null
+     * @param str  the string to convert, not null
+     * @return the converted object, may be null but generally not
+     */
+    public T convertFromString(Class<? extends T> cls, String str) {
+        return target().convertFromString(cls, str);
+    }
+
+    /**
+     * Gets the converter to use, counting the call and upgrading if necessary.
+     * @return the converter, not null
+     */
+    private StringConverter<T> target() {
+        StringConverter<T> conv = target;
+        if (conv == source && calls.incrementAndGet() >= threshold) {
+            conv = upgrade();
+        }
+        return conv;
+    }
+
+    /**
+     * Upgrades the converter, unless another thread has already done so,
+     * replacing this converter in the conversion manager.
+     * @return the upgraded converter, not null
+     */
+    private StringConverter<T> upgrade() {
+        StringConverter<T> conv;
+        synchronized (this) {
+            if (target != source) {
+                return target;
+            }
+            conv = source.optimize(generate);
+            target = conv;
+        }
+        StringConvert manager = owner.get();
+        if (manager != null) {
+            manager.replaceUpgraded(source.cls, this, conv);
+        }
+        return conv;
+    }
+
+    /**
+     * Checks if the converter has been upgraded.
+     * @return true if upgraded
+     */
+    boolean isUpgraded() {
+        return target != source;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return "TieredStringConverter[" + source.cls.getSimpleName() + "]";
+    }
+
+}
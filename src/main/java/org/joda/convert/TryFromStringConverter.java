@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2010 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * Optional interface for a converter that can report invalid input without throwing.
+ * <p>
+ * A {@link FromStringConverter} reports invalid input by throwing an exception,
+ * which is expensive when invalid input is common, such as when validating user input.
+ * A converter may also implement this interface to report invalid input by returning
+ * a default value instead. It is used by {@link StringConvert#tryConvertFromString},
+ * {@link StringConvert#isParseable} and when stackless exceptions are enabled.
+ * Converters that do not implement it are still supported, with the exception caught.
+ * <p>
+ * TryFromStringConverter is an interface and must be implemented with care.
+ * Implementations must be immutable and thread-safe.
+ *
+ * @param <T>  the type of the converter
+ * @since 1.4
+ */
+public interface TryFromStringConverter<T> {
+
+    /**
+     * Converts the specified object from a {@code CharSequence}, returning the default if invalid.
+     * <p>
+     * If the input is invalid the default value must be returned, without throwing.
+     *
+     * @param cls  the class to convert to, not null
+     * @param str  the string to convert, not null
+     * @param defaultValue  the value to return if the string is invalid, may be null
+     * @return the converted object, or the default value if the string is invalid
+     */
+    T tryConvertFromString(Class<? extends T> cls, CharSequence str, T defaultValue);
+
+    /**
+     * Checks if the specified {@code CharSequence} can be converted, without throwing.
+     * <p>
+     * This is used to distinguish invalid input from a valid input that converts to
+     * the same value as the default. Where possible, the check should avoid creating
+     * the converted object.
+     *
+     * @param cls  the class to convert to, not null
+     * @param str  the string to check, not null
+     * @return true if the string can be converted
+     */
+    boolean isParseable(Class<? extends T> cls, CharSequence str);
+
+}
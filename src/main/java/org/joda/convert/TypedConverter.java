@@ -0,0 +1,190 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.util.Collection;
+
+/**
+ * A converter that has been resolved for a specific type.
+ * <p>
+ * Instances are obtained from {@link StringConvert#converterFor(Class)}.
+ * The converter is found once, when the instance is created, thus each
+ * conversion avoids the lookup performed by {@code StringConvert}.
+ * Instances are intended to be stored, for example in a static final field:
+ * <pre>
+ *  private static final TypedConverter&lt;Distance&gt; DISTANCE =
+ *      StringConvert.INSTANCE.converterFor(Distance.class);
+ * </pre>
+ * <p>
+ * TypedConverter is thread-safe and immutable.
+ * 
+ * @param <T>  the type of the converter
+ * @since 1.4
+ */
+public final class TypedConverter<T> {
+
+    /** The type being converted. */
+    private final Class<T> type;
+    /** The resolved converter. */
+    private final StringConverter<T> converter;
+    /** Whether to report invalid input using a conversion exception without a stack trace. */
+    private final boolean stacklessExceptions;
+
+    /**
+     * Creates an instance.
+     * @param type  the type being converted, not null
+     * @param converter  the resolved converter, not null
+     * @param stacklessExceptions  whether to report invalid input without a stack trace
+     */
+    TypedConverter(Class<T> type, StringConverter<T> converter, boolean stacklessExceptions) {
+        this.type = type;
+        this.converter = converter;
+        this.stacklessExceptions = stacklessExceptions;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the type being converted.
+     * 
+     * @return the type, not null
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Gets the underlying converter.
+     * 
+     * @return the converter, not null
+     */
+    public StringConverter<T> getConverter() {
+        return converter;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Converts the specified object to a {@code String}.
+     * 
+     * @param object  the object to convert, null returns null
+     * @return the converted string, may be null
+     * @throws RuntimeException (or subclass) if unable to convert
+     */
+    public String format(T object) {
+        if (object == null) {
+            return null;
+        }
+        return converter.convertToString(object);
+    }
+
+    /**
+     * Converts the specified object from a {@code String}.
+     * 
+     * @param str  the string to convert, null returns null
+     * @return the converted object, may be null
+     * @throws RuntimeException (or subclass) if unable to convert
+     * @throws ConversionException if unable to convert and stackless exceptions are enabled
+     */
+    public T parse(String str) {
+        if (str == null) {
+            return null;
+        }
+        if (stacklessExceptions) {
+            return StringConvert.convertStackless(converter, type, str, 0, str.length());
+        }
+        return converter.convertFromString(type, str);
+    }
+
+    /**
+     * Converts the specified object from a range of a {@code CharSequence}.
+     * <p>
+     * See {@link StringConvert#convertFromString(Class, CharSequence, int, int)}.
+     * 
+     * @param str  the characters to convert, null returns null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the converted object, may be null
+     * @throws IndexOutOfBoundsException if the range is invalid
+     * @throws RuntimeException (or subclass) if unable to convert
+     * @throws ConversionException if unable to convert and stackless exceptions are enabled
+     */
+    public T parse(CharSequence str, int start, int end) {
+        if (str == null) {
+            return null;
+        }
+        StringConvert.checkRange(str, start, end);
+        if (stacklessExceptions) {
+            return StringConvert.convertStackless(converter, type, str, start, end);
+        }
+        return StringConvert.convertRange(converter, type, str, start, end);
+    }
+
+    /**
+     * Converts the specified object from a {@code CharSequence}, returning a default if invalid.
+     * <p>
+     * See {@link StringConvert#tryConvertFromString(Class, CharSequence, Object)}.
+     * 
+     * @param str  the string to convert, null returns null
+     * @param defaultValue  the value to return if the string is invalid, may be null
+     * @return the converted object, or the default value if the string is invalid
+     */
+    public T tryParse(CharSequence str, T defaultValue) {
+        if (str == null) {
+            return null;
+        }
+        return StringConvert.tryConvert(converter, type, str, defaultValue);
+    }
+
+    /**
+     * Checks if the specified string can be converted.
+     * <p>
+     * See {@link StringConvert#isParseable(Class, CharSequence)}.
+     * 
+     * @param str  the string to check, null returns false
+     * @return true if the string can be converted
+     */
+    public boolean isParseable(CharSequence str) {
+        if (str == null) {
+            return false;
+        }
+        return StringConvert.isParseable(converter, type, str);
+    }
+
+    /**
+     * Converts a batch of strings, collecting the failures rather than throwing.
+     * <p>
+     * See {@link StringConvert#convertFromStrings(Class, Iterable, Collection)}.
+     * 
+     * @param strs  the strings to convert, not null
+     * @param results  the collection to add the converted objects to, not null
+     * @return the report of failures, not null
+     */
+    public ConversionReport parseAll(Iterable<? extends CharSequence> strs, Collection<? super T> results) {
+        if (strs == null) {
+            throw new IllegalArgumentException("Strings must not be null");
+        }
+        if (results == null) {
+            throw new IllegalArgumentException("Results must not be null");
+        }
+        return StringConvert.convertAll(converter, type, strs, results);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return "TypedConverter[" + type.getName() + "]";
+    }
+
+}
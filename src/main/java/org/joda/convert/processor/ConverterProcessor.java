@@ -0,0 +1,537 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert.processor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.StandardLocation;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * Annotation processor generating converters for classes using {@code @ToString} and {@code @FromString}.
+ * <p>
+ * For each class declaring a method or constructor annotated with {@code @ToString}
+ * or {@code @FromString}, a class implementing {@code StringConverter} is generated
+ * in the same package. The generated converter calls the annotated methods directly.
+ * It is listed in the index described below, which is how {@code StringConvert} finds it.
+ * The generated converter is named after the binary name of the class,
+ * with each '$' doubled, plus the suffix {@code _StringConverter}. Thus {@code Foo} has the
+ * converter {@code Foo_StringConverter} and {@code Foo$Bar} has {@code Foo$$Bar_StringConverter},
+ * which cannot clash with the converter of a class named {@code Foo_Bar}.
+ * <p>
+ * The annotated methods are found using the same rules as {@code StringConvert}.
+ * A converter is only generated if the annotations are valid, and the class and methods
+ * are public, as required when calling the methods by reflection. Otherwise a note is
+ * output and the class is left to be handled at runtime as before.
+ * <p>
+ * In addition, the file {@code META-INF/joda-convert.index} is written, listing each class
+ * with valid annotations, together with the generated converter or the annotated members.
+ * {@code StringConvert} reads the index once per class loader and uses it to create the
+ * converter directly, avoiding the search for annotations on the class and its superclasses.
+ * Classes not in the index, for example if only some classes were recompiled, are handled as before.
+ * <p>
+ * For GraalVM native-image, the file {@code META-INF/native-image/joda-convert-generated/reflect-config.json}
+ * is also written, registering the generated converters and annotated members for reflection.
+ * This allows the index to be used in a native image without hand-written configuration.
+ * <p>
+ * The processor is not registered using {@code META-INF/services}, thus it does not run
+ * simply because this library is on the compile classpath. To use it, it must be enabled
+ * explicitly, such as using the javac option
+ * {@code -processor org.joda.convert.processor.ConverterProcessor}
+ * or the {@code annotationProcessors} setting of the Maven compiler plugin.
+ * <p>
+ * ConverterProcessor is mutable and intended for use in a single compilation.
+ * 
+ * @since 1.4
+ */
+public class ConverterProcessor extends AbstractProcessor {
+
+    /** The suffix of the generated converter. */
+    public static final String SUFFIX = "_StringConverter";
+    /** The index resource, which must match that used by StringConvert. */
+    public static final String INDEX = "META-INF/joda-convert.index";
+    /** The native-image reflection configuration resource. */
+    public static final String REFLECT_CONFIG = "META-INF/native-image/joda-convert-generated/reflect-config.json";
+    /** The ToString annotation. */
+    private static final String TO_STRING = "org.joda.convert.ToString";
+    /** The FromString annotation. */
+    private static final String FROM_STRING = "org.joda.convert.FromString";
+
+    /** The lines of the index, built up over all rounds. */
+    private final List<String> index = new ArrayList<String>();
+    /** The members to be registered for reflection by class name, built up over all rounds. */
+    private final Map<String, Set<String>> reflection = new TreeMap<String, Set<String>>();
+
+    /**
+     * Creates an instance.
+     */
+    public ConverterProcessor() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> types = new LinkedHashSet<String>();
+        types.add(TO_STRING);
+        types.add(FROM_STRING);
+        return types;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> classes = new LinkedHashSet<TypeElement>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                Element enclosing = element.getEnclosingElement();
+                if (enclosing instanceof TypeElement) {
+                    classes.add((TypeElement) enclosing);
+                }
+            }
+        }
+        for (TypeElement cls : classes) {
+            try {
+                process(cls);
+            } catch (IOException ex) {
+                processingEnv.getMessager().printMessage(Kind.NOTE,
+                        "Joda-Convert converter not generated: " + ex.getMessage(), cls);
+            }
+        }
+        if (roundEnv.processingOver() && index.size() > 0) {
+            try {
+                writeIndex();
+                writeReflectConfig();
+            } catch (IOException ex) {
+                processingEnv.getMessager().printMessage(Kind.NOTE,
+                        "Joda-Convert index not written: " + ex.getMessage());
+            }
+        }
+        return false;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Processes a class, adding it to the index and generating the converter, if valid.
+     * 
+     * @param cls  the class, not null
+     * @throws IOException if the file cannot be written
+     */
+    private void process(TypeElement cls) throws IOException {
+        if (cls.getKind() != ElementKind.CLASS && cls.getKind() != ElementKind.ENUM) {
+            note(cls, "Only classes are supported");
+            return;
+        }
+        List<ExecutableElement> toStrings = findAnnotated(cls, TO_STRING, true);
+        if (toStrings.isEmpty()) {
+            return;  // no converter, as at runtime
+        }
+        ExecutableElement con = findFromStringConstructor(cls);
+        List<ExecutableElement> fromStrings = findAnnotated(cls, FROM_STRING, con == null);
+        String problem = null;
+        if (toStrings.size() > 1) {
+            problem = "Two methods are annotated with @ToString";
+        } else if (fromStrings.size() > 1) {
+            problem = "Two methods are annotated with @FromString";
+        } else if (con == null && fromStrings.isEmpty()) {
+            problem = "Class annotated with @ToString but not with @FromString";
+        } else if (con != null && fromStrings.size() > 0) {
+            problem = "Both method and constructor are annotated with @FromString";
+        }
+        ExecutableElement toString = toStrings.get(0);
+        ExecutableElement fromString = (con != null ? con : (fromStrings.isEmpty() ? null : fromStrings.get(0)));
+        if (problem == null) {
+            problem = checkToString(toString);
+        }
+        if (problem == null) {
+            problem = (con != null ? checkConstructor(cls, con) : checkFromString(cls, fromString));
+        }
+        if (problem != null) {
+            note(cls, problem);
+            return;
+        }
+        String binaryName = binaryName(cls);
+        problem = checkGenerate(cls, toString, fromString);
+        if (problem != null) {
+            note(cls, problem);
+            index.add(binaryName + describe(toString, fromString));
+            addReflection(toString);
+            addReflection(fromString);
+        } else {
+            String generated = write(cls, toString, fromString);
+            index.add(binaryName + " GENERATED " + generated);
+            addReflection(generated, "<init>", "");
+        }
+    }
+
+    /**
+     * Outputs a note that the converter was not generated.
+     */
+    private void note(TypeElement cls, String problem) {
+        processingEnv.getMessager().printMessage(Kind.NOTE, "Joda-Convert converter not generated: " + problem, cls);
+    }
+
+    /**
+     * Checks that the generated converter can call the members directly.
+     */
+    private String checkGenerate(TypeElement cls, ExecutableElement toString, ExecutableElement fromString) {
+        Element loop = cls;
+        while (loop instanceof TypeElement) {
+            if (loop.getModifiers().contains(Modifier.PUBLIC) == false) {
+                return "Class must be public";
+            }
+            loop = loop.getEnclosingElement();
+        }
+        String problem = checkAccess(toString);
+        return (problem != null ? problem : checkAccess(fromString));
+    }
+
+    /**
+     * Finds the annotated methods, searching superclasses until one declares a match.
+     */
+    private List<ExecutableElement> findAnnotated(TypeElement cls, String annotation, boolean searchSuperclasses) {
+        TypeElement loop = cls;
+        while (loop != null) {
+            List<ExecutableElement> matched = new ArrayList<ExecutableElement>();
+            for (ExecutableElement method : ElementFilter.methodsIn(loop.getEnclosedElements())) {
+                if (hasAnnotation(method, annotation)) {
+                    matched.add(method);
+                }
+            }
+            if (matched.size() > 0 || searchSuperclasses == false) {
+                return matched;
+            }
+            loop = superclass(loop);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Finds the annotated constructor, checking a String constructor before a CharSequence one.
+     */
+    private ExecutableElement findFromStringConstructor(TypeElement cls) {
+        ExecutableElement charSequenceCon = null;
+        for (ExecutableElement con : ElementFilter.constructorsIn(cls.getEnclosedElements())) {
+            if (con.getParameters().size() == 1) {
+                String param = erasure(con.getParameters().get(0).asType());
+                if (param.equals("java.lang.String")) {
+                    return (hasAnnotation(con, FROM_STRING) ? con : null);
+                }
+                if (param.equals("java.lang.CharSequence")) {
+                    charSequenceCon = con;
+                }
+            }
+        }
+        return (charSequenceCon != null && hasAnnotation(charSequenceCon, FROM_STRING) ? charSequenceCon : null);
+    }
+
+    /**
+     * Checks the toString method.
+     */
+    private String checkToString(ExecutableElement method) {
+        if (method.getParameters().size() != 0) {
+            return "ToString method must have no parameters";
+        }
+        if (erasure(method.getReturnType()).equals("java.lang.String") == false) {
+            return "ToString method must return a String";
+        }
+        if (method.getModifiers().contains(Modifier.STATIC)) {
+            return "ToString method must not be static";
+        }
+        return null;
+    }
+
+    /**
+     * Checks the fromString method.
+     */
+    private String checkFromString(TypeElement cls, ExecutableElement method) {
+        if (method.getParameters().size() != 1) {
+            return "FromString method must have one parameter";
+        }
+        if (isStringParameter(method) == false) {
+            return "FromString method must take a String or CharSequence";
+        }
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror erasedClass = types.erasure(cls.asType());
+        TypeMirror erasedReturn = types.erasure(method.getReturnType());
+        if (types.isAssignable(erasedClass, erasedReturn) == false && types.isAssignable(erasedReturn, erasedClass) == false) {
+            return "FromString method must return specified class, a superclass or a subclass";
+        }
+        if (method.getModifiers().contains(Modifier.STATIC) == false) {
+            return "FromString method must be static";
+        }
+        return null;
+    }
+
+    /**
+     * Checks the fromString constructor.
+     */
+    private String checkConstructor(TypeElement cls, ExecutableElement con) {
+        if (cls.getKind() != ElementKind.CLASS || cls.getNestingKind() != NestingKind.TOP_LEVEL ||
+                cls.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "FromString constructor must be on an instantiable class";
+        }
+        return null;
+    }
+
+    /**
+     * Checks that the method or constructor is public and on a public class.
+     */
+    private String checkAccess(ExecutableElement method) {
+        if (method.getModifiers().contains(Modifier.PUBLIC) == false ||
+                method.getEnclosingElement().getModifiers().contains(Modifier.PUBLIC) == false) {
+            return "Annotated methods and constructors must be public";
+        }
+        return null;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Writes the converter.
+     * 
+     * @return the binary name of the converter
+     */
+    private String write(TypeElement cls, ExecutableElement toString, ExecutableElement fromString) throws IOException {
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+        String packageName = elements.getPackageOf(cls).getQualifiedName().toString();
+        String binaryName = binaryName(cls);
+        String simpleName = (packageName.length() > 0 ? binaryName.substring(packageName.length() + 1) : binaryName);
+        String converterName = simpleName.replace("$", "$$") + SUFFIX;
+        String type = erasure(cls.asType());
+        boolean generic = cls.getTypeParameters().size() > 0;
+
+        String qualifiedName = (packageName.length() > 0 ? packageName + "." : "") + converterName;
+        Writer out = processingEnv.getFiler().createSourceFile(qualifiedName, cls).openWriter();
+        try {
+            if (packageName.length() > 0) {
+                out.write("package " + packageName + ";\n\n");
+            }
+            out.write("/**\n");
+            out.write(" * Converter for {@link " + type + "}, generated by Joda-Convert.\n");
+            out.write(" */\n");
+            if (generic) {
+                out.write("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+            }
+            out.write("public final class " + converterName + " implements org.joda.convert.StringConverter<" + type + "> {\n\n");
+            out.write("    public String convertToString(" + type + " object) {\n");
+            writeCall(out, type, throwsChecked(toString), "object." + toString.getSimpleName() + "()");
+            out.write("    }\n\n");
+            out.write("    public " + type + " convertFromString(Class<? extends " + type + "> cls, String str) {\n");
+            if (fromString.getKind() == ElementKind.CONSTRUCTOR) {
+                writeCall(out, type, throwsChecked(fromString), "new " + type + "(str)");
+            } else {
+                String owner = erasure(types.erasure(fromString.getEnclosingElement().asType()));
+                writeCall(out, type, throwsChecked(fromString), "cls.cast(" + owner + "." + fromString.getSimpleName() + "(str))");
+            }
+            out.write("    }\n\n");
+            out.write("    @Override\n");
+            out.write("    public String toString() {\n");
+            out.write("        return \"GeneratedStringConverter[" + cls.getSimpleName() + "]\";\n");
+            out.write("    }\n\n");
+            out.write("}\n");
+        } finally {
+            out.close();
+        }
+        return qualifiedName;
+    }
+
+    /**
+     * Describes the members in the index format, for a converter that is not generated.
+     */
+    private String describe(ExecutableElement toString, ExecutableElement fromString) {
+        String param = erasure(fromString.getParameters().get(0).asType());
+        String toStringDesc = binaryName((TypeElement) toString.getEnclosingElement()) + " " + toString.getSimpleName();
+        if (fromString.getKind() == ElementKind.CONSTRUCTOR) {
+            return " CONSTRUCTOR " + toStringDesc + " " + param;
+        }
+        return " METHODS " + toStringDesc + " " +
+                binaryName((TypeElement) fromString.getEnclosingElement()) + " " + fromString.getSimpleName() + " " + param;
+    }
+
+    /**
+     * Writes the index of the classes processed.
+     */
+    private void writeIndex() throws IOException {
+        Collections.sort(index);
+        Writer out = new OutputStreamWriter(processingEnv.getFiler().createResource(
+                StandardLocation.CLASS_OUTPUT, "", INDEX).openOutputStream(), "UTF-8");
+        try {
+            out.write("# Joda-Convert index\n");
+            for (String line : index) {
+                out.write(line);
+                out.write('\n');
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Adds the method or constructor to the native-image reflection configuration.
+     */
+    private void addReflection(ExecutableElement member) {
+        String name = (member.getKind() == ElementKind.CONSTRUCTOR ? "<init>" : member.getSimpleName().toString());
+        String params = (member.getParameters().isEmpty() ? "" : "\"" + erasure(member.getParameters().get(0).asType()) + "\"");
+        addReflection(binaryName((TypeElement) member.getEnclosingElement()), name, params);
+    }
+
+    /**
+     * Adds the method or constructor to the native-image reflection configuration.
+     */
+    private void addReflection(String className, String name, String params) {
+        Set<String> members = reflection.get(className);
+        if (members == null) {
+            members = new TreeSet<String>();
+            reflection.put(className, members);
+        }
+        members.add("{\"name\": \"" + name + "\", \"parameterTypes\": [" + params + "]}");
+    }
+
+    /**
+     * Writes the native-image reflection configuration, allowing the index to be used in a native image.
+     */
+    private void writeReflectConfig() throws IOException {
+        Writer out = new OutputStreamWriter(processingEnv.getFiler().createResource(
+                StandardLocation.CLASS_OUTPUT, "", REFLECT_CONFIG).openOutputStream(), "UTF-8");
+        try {
+            out.write("[");
+            String sep = "\n";
+            for (Map.Entry<String, Set<String>> entry : reflection.entrySet()) {
+                out.write(sep + "  {\"name\": \"" + entry.getKey() + "\", \"methods\": [");
+                String memberSep = "\n";
+                for (String member : entry.getValue()) {
+                    out.write(memberSep + "    " + member);
+                    memberSep = ",\n";
+                }
+                out.write("\n  ]}");
+                sep = ",\n";
+            }
+            out.write("\n]\n");
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes a call, wrapping checked exceptions as the reflective converters do.
+     */
+    private void writeCall(Writer out, String type, boolean checked, String call) throws IOException {
+        if (checked) {
+            out.write("        try {\n");
+            out.write("            return " + call + ";\n");
+            out.write("        } catch (RuntimeException ex) {\n");
+            out.write("            throw ex;\n");
+            out.write("        } catch (Exception ex) {\n");
+            out.write("            throw new org.joda.convert.ConversionException(ex.getMessage(), " + type + ".class, -1, ex);\n");
+            out.write("        }\n");
+        } else {
+            out.write("        return " + call + ";\n");
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if the element has the annotation, matching by name to avoid loading it.
+     */
+    private boolean hasAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the single parameter is a String or CharSequence.
+     */
+    private boolean isStringParameter(ExecutableElement method) {
+        String param = erasure(method.getParameters().get(0).asType());
+        return param.equals("java.lang.String") || param.equals("java.lang.CharSequence");
+    }
+
+    /**
+     * Checks if the method or constructor declares a checked exception.
+     */
+    private boolean throwsChecked(ExecutableElement method) {
+        Types types = processingEnv.getTypeUtils();
+        Elements elements = processingEnv.getElementUtils();
+        TypeMirror runtime = elements.getTypeElement("java.lang.RuntimeException").asType();
+        TypeMirror error = elements.getTypeElement("java.lang.Error").asType();
+        for (TypeMirror thrown : method.getThrownTypes()) {
+            if (types.isSubtype(thrown, runtime) == false && types.isSubtype(thrown, error) == false) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the binary name of the class.
+     */
+    private String binaryName(TypeElement cls) {
+        return processingEnv.getElementUtils().getBinaryName(cls).toString();
+    }
+
+    /**
+     * Gets the superclass, null if none.
+     */
+    private TypeElement superclass(TypeElement cls) {
+        TypeMirror superclass = cls.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    /**
+     * Gets the erased type as source code.
+     */
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+/**
+ * Factory spinning invokers of methods and constructors using {@code LambdaMetafactory}.
+ * <p>
+ * This is the JDK 9 version of the class, selected from {@code META-INF/versions/9}
+ * of the multi-release jar. As on JDK 1.8, the invoker is spun in this library where
+ * the member and the classes it refers to are visible from it. Otherwise, for a public
+ * member of a public class, a {@code Function} calling the member is generated by
+ * {@link ConverterGenerator} in a child of the class loader of the declaring class,
+ * thus members of classes loaded by a child class loader are called directly rather than
+ * by method handle. A private lookup in the declaring class is not used, as from JDK 14
+ * the metafactory rejects it for classes in a different module to this library.
+ * Members that are not public are handled as on JDK 1.8, keeping the same access rules.
+ * <p>
+ * LambdaInvokerFactory is a thread-safe static utility.
+ */
+final class LambdaInvokerFactory {
+
+    /** The type of the factory produced by the metafactory. */
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(MemberInvoker.class);
+    /** The erased type of the invoker method. */
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Restricted constructor.
+     */
+    private LambdaInvokerFactory() {
+    }
+
+    /**
+     * Spins an invoker for a method or constructor.
+     * 
+     * @param method  the method, null if constructor
+     * @param constructor  the constructor, null if method
+     * @return the invoker, not null
+     * @throws Throwable if access is denied or the invoker cannot be spun
+     */
+    @SuppressWarnings("unchecked")
+    static MemberInvoker of(Method method, Constructor<?> constructor) throws Throwable {
+        try {
+            return spin(method, constructor);
+        } catch (IllegalAccessException ex) {
+            Member member = (method != null ? method : constructor);
+            Class<?> declaringClass = member.getDeclaringClass();
+            if (Modifier.isPublic(member.getModifiers()) == false || Modifier.isPublic(declaringClass.getModifiers()) == false) {
+                throw ex;
+            }
+            return new FunctionInvoker((Function<Object, Object>) ConverterGenerator.generateFunction(member));
+        }
+    }
+
+    /**
+     * Spins an invoker in this library, as on JDK 1.8.
+     * 
+     * @param method  the method, null if constructor
+     * @param constructor  the constructor, null if method
+     * @return the invoker, not null
+     * @throws IllegalAccessException if the member or the classes it refers to are not accessible
+     * @throws Throwable if the invoker cannot be spun
+     */
+    private static MemberInvoker spin(Method method, Constructor<?> constructor) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle target = unreflect(lookup, method, constructor);
+        Class<?> declaringClass = (method != null ? method.getDeclaringClass() : constructor.getDeclaringClass());
+        checkVisible(declaringClass);
+        checkVisible(target.type().returnType());
+        for (Class<?> param : target.type().parameterArray()) {
+            checkVisible(param);
+        }
+        CallSite site = LambdaMetafactory.metafactory(
+                lookup, "invoke", FACTORY_TYPE, INVOKE_TYPE, target, target.type());
+        return (MemberInvoker) site.getTarget().invoke();
+    }
+
+    /**
+     * Obtains the method handle of the method or constructor.
+     * 
+     * @param lookup  the lookup, not null
+     * @param method  the method, null if constructor
+     * @param constructor  the constructor, null if method
+     * @return the method handle, not null
+     * @throws IllegalAccessException if access is denied
+     */
+    private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method method, Constructor<?> constructor) throws IllegalAccessException {
+        return (method != null ? lookup.unreflect(method) : lookup.unreflectConstructor(constructor));
+    }
+
+    /**
+     * Checks that the class is visible from the class loader of this library.
+     * 
+     * @param cls  the class to check, not null
+     * @throws IllegalAccessException if the class is not visible
+     */
+    private static void checkVisible(Class<?> cls) throws IllegalAccessException {
+        if (cls.isPrimitive()) {
+            return;
+        }
+        ClassLoader loader = LambdaInvokerFactory.class.getClassLoader();
+        try {
+            if (Class.forName(cls.getName(), false, loader) == cls) {
+                return;
+            }
+        } catch (ClassNotFoundException ex) {
+            // fall through
+        }
+        throw new IllegalAccessException("Class not visible: " + cls.getName());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Invoker calling a function spun in the declaring class.
+     */
+    static final class FunctionInvoker implements MemberInvoker {
+        /** The function. */
+        private final Function<Object, Object> function;
+
+        FunctionInvoker(Function<Object, Object> function) {
+            this.function = function;
+        }
+
+        @Override
+        public Object invoke(Object arg) {
+            return function.apply(arg);
+        }
+    }
+
+}
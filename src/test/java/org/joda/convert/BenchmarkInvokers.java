@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Benchmark comparing the strategies used to invoke annotated methods.
+ * <p>
+ * StringConvert is measured with and without generated converter classes.
+ * <p>
+ * This is not run as part of the tests. Run it using the main method.
+ * Each strategy round trips an object through its toString and fromString
+ * methods, and the result is compared to calling the methods directly.
+ * A proper harness would give more reliable numbers, but this is
+ * sufficient to compare the strategies against each other.
+ */
+public class BenchmarkInvokers {
+
+    /** The number of iterations in each round. */
+    private static final int ITERATIONS = 2000000;
+    /** The number of rounds. */
+    private static final int ROUNDS = 10;
+    /** Sink preventing the work being eliminated. */
+    private static int sink;
+
+    /**
+     * Runs the benchmark.
+     * 
+     * @param args  ignored
+     * @throws Throwable if an error occurs
+     */
+    public static void main(String[] args) throws Throwable {
+        Method toString = DistanceMethodMethod.class.getMethod("print");
+        Method fromString = DistanceMethodMethod.class.getMethod("parse", String.class);
+        Constructor<DistanceMethodConstructor> con = DistanceMethodConstructor.class.getConstructor(String.class);
+        MemberInvoker[] reflection = {
+            new MemberInvokers.ReflectionMethodInvoker(toString),
+            new MemberInvokers.ReflectionMethodInvoker(fromString),
+            new MemberInvokers.ReflectionConstructorInvoker(con)};
+        MemberInvoker[] handles = null;
+        if (MemberInvokers.isMethodHandleSupported()) {
+            handles = new MemberInvoker[] {
+                invoker("MethodHandleInvoker", toString, null),
+                invoker("MethodHandleInvoker", fromString, null),
+                invoker("MethodHandleInvoker", null, con)};
+        }
+        MemberInvoker[] lambdas = null;
+        if (MemberInvokers.isLambdaSupported()) {
+            lambdas = new MemberInvoker[] {
+                invoker("LambdaInvokerFactory", toString, null),
+                invoker("LambdaInvokerFactory", fromString, null),
+                invoker("LambdaInvokerFactory", null, con)};
+        }
+        StringConvert convert = new StringConvert();
+        StringConvert generating = new StringConvert();
+        generating.setGenerateConverters(true);
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.println("Round " + round);
+            report("direct", direct());
+            report("reflection", invokers(reflection));
+            if (handles != null) {
+                report("method handle", invokers(handles));
+            }
+            if (lambdas != null) {
+                report("lambda", invokers(lambdas));
+            }
+            report("StringConvert", stringConvert(convert));
+            report("generated", stringConvert(generating));
+        }
+        System.out.println(sink);
+    }
+
+    private static MemberInvoker invoker(String className, Method method, Constructor<?> con) throws Exception {
+        Class<?> cls = Class.forName("org.joda.convert." + className);
+        return (MemberInvoker) cls.getDeclaredMethod("of", Method.class, Constructor.class).invoke(null, method, con);
+    }
+
+    private static void report(String name, long nanos) {
+        System.out.println(String.format("  %-14s %6.1f ns/op", name, ((double) nanos) / ITERATIONS));
+    }
+
+    private static long direct() {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            DistanceMethodMethod obj = DistanceMethodMethod.parse("25m");
+            sink += obj.print().length();
+            sink += new DistanceMethodConstructor("25m").hashCode();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long invokers(MemberInvoker[] invokers) throws Throwable {
+        MemberInvoker toString = invokers[0];
+        MemberInvoker fromString = invokers[1];
+        MemberInvoker con = invokers[2];
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Object obj = fromString.invoke("25m");
+            sink += ((String) toString.invoke(obj)).length();
+            sink += con.invoke("25m").hashCode();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long stringConvert(StringConvert convert) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            DistanceMethodMethod obj = convert.convertFromString(DistanceMethodMethod.class, "25m");
+            sink += convert.convertToString(obj).length();
+            sink += convert.convertFromString(DistanceMethodConstructor.class, "25m").hashCode();
+        }
+        return System.nanoTime() - start;
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2010-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * Example class following the naming conventions, with a factory returning a subclass.
+ */
+public class DistanceCovariantConvention {
+
+    /** Amount. */
+    final int amount;
+
+    public static Metres of(String amount) {
+        return new Metres(Integer.parseInt(amount.substring(0, amount.length() - 1)));
+    }
+
+    public DistanceCovariantConvention(int amount) {
+        this.amount = amount;
+    }
+
+    @Override
+    public String toString() {
+        return amount + "m";
+    }
+
+    /**
+     * The subclass returned by the factory.
+     */
+    public static final class Metres extends DistanceCovariantConvention {
+        public Metres(int amount) {
+            super(amount);
+        }
+    }
+
+}
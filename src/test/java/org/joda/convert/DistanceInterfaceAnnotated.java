@@ -0,0 +1,41 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * Example class implementing an interface, with annotations.
+ */
+public class DistanceInterfaceAnnotated implements DistanceInterface {
+
+    /** Amount. */
+    final int amount;
+
+    @FromString
+    public DistanceInterfaceAnnotated(String amount) {
+        amount = amount.substring(0, amount.length() - 1);
+        this.amount = Integer.parseInt(amount);
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    @ToString
+    public String print() {
+        return amount + "m";
+    }
+
+}
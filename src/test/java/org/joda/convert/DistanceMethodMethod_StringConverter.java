@@ -0,0 +1,31 @@
+/*
+ *  Copyright 2010-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * Converter named as per the annotation processor, but not listed in any index.
+ */
+public class DistanceMethodMethod_StringConverter implements StringConverter<DistanceMethodMethod> {
+
+    public String convertToString(DistanceMethodMethod object) {
+        throw new UnsupportedOperationException();
+    }
+
+    public DistanceMethodMethod convertFromString(Class<? extends DistanceMethodMethod> cls, String str) {
+        throw new UnsupportedOperationException();
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2010-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * Example class following the naming conventions, except that the factory returns {@code Object}.
+ */
+public class DistanceObjectParseConvention {
+
+    /** Amount. */
+    final int amount;
+
+    public static Object parse(String amount) {
+        return new DistanceObjectParseConvention(Integer.parseInt(amount.substring(0, amount.length() - 1)));
+    }
+
+    public DistanceObjectParseConvention(int amount) {
+        this.amount = amount;
+    }
+
+    @Override
+    public String toString() {
+        return amount + "m";
+    }
+
+}
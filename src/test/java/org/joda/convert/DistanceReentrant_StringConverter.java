@@ -0,0 +1,35 @@
+/*
+ *  Copyright 2010-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * Converter listed in the test index, as per the annotation processor, that looks up
+ * the converter of the class again from its static initializer.
+ */
+public class DistanceReentrant_StringConverter implements StringConverter<DistanceReentrant> {
+
+    /** The converter found while this class is initialized. */
+    static final StringConverter<DistanceReentrant> NESTED = DistanceReentrant.convert.findConverter(DistanceReentrant.class);
+
+    public String convertToString(DistanceReentrant object) {
+        return object.toString();
+    }
+
+    public DistanceReentrant convertFromString(Class<? extends DistanceReentrant> cls, String str) {
+        return new DistanceReentrant(Integer.parseInt(str.substring(0, str.length() - 1)));
+    }
+
+}
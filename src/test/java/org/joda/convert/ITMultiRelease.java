@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+import static org.junit.Assert.assertEquals;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+
+/**
+ * Test the packaged multi-release jar, run by the java9 profile on JDK 9 and later.
+ */
+public class ITMultiRelease {
+
+    private static final String FUNCTION_INVOKER = LambdaInvokerFactory.class.getName() + "$FunctionInvoker";
+
+    private static Class<?> loadInChild(Class<?> cls) throws Exception {
+        URL url = cls.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[] {url}, null);
+        return loader.loadClass(cls.getName());
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_packagedJar() {
+        URL url = StringConvert.class.getProtectionDomain().getCodeSource().getLocation();
+        assertEquals(url.toString(), true, url.getPath().endsWith(".jar"));
+        assertEquals(true, MemberInvokers.isLambdaSupported());
+    }
+
+    @Test
+    public void test_invokerChildClassLoader_methods() throws Throwable {
+        Class<?> cls = loadInChild(DistanceMethodMethod.class);
+        MemberInvoker toString = MemberInvokers.of(cls.getMethod("print"));
+        MemberInvoker fromString = MemberInvokers.of(cls.getMethod("parse", String.class));
+        assertEquals(FUNCTION_INVOKER, toString.getClass().getName());
+        assertEquals(FUNCTION_INVOKER, fromString.getClass().getName());
+        Object parsed = fromString.invoke("25m");
+        assertEquals(cls, parsed.getClass());
+        assertEquals("25m", toString.invoke(parsed));
+    }
+
+    @Test
+    public void test_invokerChildClassLoader_constructor() throws Throwable {
+        Class<?> cls = loadInChild(DistanceMethodConstructor.class);
+        MemberInvoker fromString = MemberInvokers.of(cls.getConstructor(String.class));
+        assertEquals(FUNCTION_INVOKER, fromString.getClass().getName());
+        assertEquals(cls, fromString.invoke("25m").getClass());
+    }
+
+    @Test
+    public void test_convert_childClassLoader() throws Exception {
+        Class<?> cls = loadInChild(DistanceMethodMethod.class);
+        StringConvert test = new StringConvert();
+        test.registerMethods(cls, "print", "parse");
+        ReflectionStringConverter<?> conv = (ReflectionStringConverter<?>) test.findConverter(cls);
+        assertEquals(FUNCTION_INVOKER, conv.toStringInvoker.getClass().getName());
+        assertEquals("25m", test.convertToString(test.convertFromString(cls, "25m")));
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2010 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert;
+
+/**
+ * Conversion between an {@code Integer} and a {@code String}, reporting invalid input without throwing.
+ * Only single digits are valid.
+ */
+public enum MockTryIntegerStringConverter implements StringConverter<Integer>, TryFromStringConverter<Integer> {
+
+    /** Singleton instance. */
+    INSTANCE;
+
+    /**
+     * Converts the {@code Integer} to a {@code String}.
+     * @param object  the object to convert, not null
+     * @return the converted string, may be null but generally not
+     */
+    public String convertToString(Integer object) {
+        return object.toString();
+    }
+
+    /**
+     * Converts the {@code String} to an {@code Integer}, not supported.
+     * @param cls  the class to convert to, not null
+     * @param str  the string to convert, not null
+     * @return never
+     */
+    public Integer convertFromString(Class<? extends Integer> cls, String str) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Converts the {@code CharSequence} to an {@code Integer}, returning the default if invalid.
+     * @param cls  the class to convert to, not null
+     * @param str  the string to convert, not null
+     * @param defaultValue  the value to return if invalid
+     * @return the converted integer, or the default
+     */
+    public Integer tryConvertFromString(Class<? extends Integer> cls, CharSequence str, Integer defaultValue) {
+        if (str.length() == 1 && str.charAt(0) >= '0' && str.charAt(0) <= '9') {
+            return Integer.valueOf(str.charAt(0) - '0');
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Checks if the {@code CharSequence} can be converted.
+     * @param cls  the class to convert to, not null
+     * @param str  the string to check, not null
+     * @return true if valid
+     */
+    public boolean isParseable(Class<? extends Integer> cls, CharSequence str) {
+        return str.length() == 1 && str.charAt(0) >= '0' && str.charAt(0) <= '9';
+    }
+
+}
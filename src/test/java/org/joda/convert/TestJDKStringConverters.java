@@ -377,6 +377,170 @@ public class TestJDKStringConverters {
         JDKStringConverter.ENUM.convertFromString(RoundingMode.class, "RUBBISH");
     }
 
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_tryConvert_Long() {
+        JDKStringConverter test = JDKStringConverter.LONG;
+        assertEquals(Long.valueOf(12), test.tryConvertFromString(Long.class, "12", null));
+        assertEquals(Long.valueOf(-12), test.tryConvertFromString(Long.class, "-12", null));
+        assertEquals(Long.MAX_VALUE, test.tryConvertFromString(Long.class, "9223372036854775807", null));
+        assertEquals(Long.MIN_VALUE, test.tryConvertFromString(Long.class, "-9223372036854775808", null));
+        assertEquals(null, test.tryConvertFromString(Long.class, "9223372036854775808", null));
+        assertEquals(null, test.tryConvertFromString(Long.class, "-9223372036854775809", null));
+        assertEquals(null, test.tryConvertFromString(Long.class, "", null));
+        assertEquals(null, test.tryConvertFromString(Long.class, "-", null));
+        assertEquals(null, test.tryConvertFromString(Long.class, "12x", null));
+        assertEquals(Long.valueOf(12), test.tryConvertFromString(Long.class, "\u0661\u0662", null));
+    }
+
+    @Test
+    public void test_tryConvert_Byte() {
+        JDKStringConverter test = JDKStringConverter.BYTE;
+        assertEquals(Byte.valueOf((byte) 127), test.tryConvertFromString(Byte.class, "127", null));
+        assertEquals(Byte.valueOf((byte) -128), test.tryConvertFromString(Byte.class, "-128", null));
+        assertEquals(null, test.tryConvertFromString(Byte.class, "128", null));
+        assertEquals(null, test.tryConvertFromString(Byte.class, "-129", null));
+    }
+
+    @Test
+    public void test_tryConvert_Boolean() {
+        JDKStringConverter test = JDKStringConverter.BOOLEAN;
+        assertEquals(Boolean.TRUE, test.tryConvertFromString(Boolean.class, "TRUE", null));
+        assertEquals(Boolean.FALSE, test.tryConvertFromString(Boolean.class, "False", null));
+        assertEquals(null, test.tryConvertFromString(Boolean.class, "yes", null));
+    }
+
+    @Test
+    public void test_tryConvert_Character() {
+        JDKStringConverter test = JDKStringConverter.CHARACTER;
+        assertEquals(Character.valueOf('a'), test.tryConvertFromString(Character.class, "a", null));
+        assertEquals(null, test.tryConvertFromString(Character.class, "", null));
+        assertEquals(null, test.tryConvertFromString(Character.class, "ab", null));
+    }
+
+    @Test
+    public void test_tryConvert_UUID() {
+        JDKStringConverter test = JDKStringConverter.UUID;
+        UUID uuid = UUID.randomUUID();
+        assertEquals(uuid, test.tryConvertFromString(UUID.class, uuid.toString(), null));
+        assertEquals(null, test.tryConvertFromString(UUID.class, "RUBBISH", null));
+        assertEquals(null, test.tryConvertFromString(UUID.class, "1-2-3-4-x", null));
+    }
+
+    @Test
+    public void test_tryConvert_Enum() {
+        JDKStringConverter test = JDKStringConverter.ENUM;
+        assertEquals(RoundingMode.CEILING, test.tryConvertFromString(RoundingMode.class, "CEILING", null));
+        assertEquals(null, test.tryConvertFromString(RoundingMode.class, "ceiling", null));
+    }
+
+    @Test
+    public void test_tryConvert_noScanner() {
+        JDKStringConverter test = JDKStringConverter.LOCALE;
+        assertEquals(Locale.FRANCE, test.tryConvertFromString(Locale.class, "fr_FR", null));
+        assertEquals(null, JDKStringConverter.DOUBLE.tryConvertFromString(Double.class, "RUBBISH", null));
+    }
+
+    @Test
+    public void test_scanInteger_errorIndex() {
+        assertEquals(JDKScanner.VALID, JDKScanner.scanInteger("x12x", 1, 3, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(2, JDKScanner.scanInteger("12x", 0, 3, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(2, JDKScanner.scanInteger("999", 0, 3, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        assertEquals(1, JDKScanner.scanInteger("-", 0, 1, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(JDKScanner.UNKNOWN, JDKScanner.scanInteger("+1", 0, 2, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    /** Awkward inputs, checked against each converter. */
+    private static final String[] INPUTS = {
+        "", " ", "0", "12", "-12", "+12", "-", "+", "12x", "x12", "1.", ".5", ".", "-.5e3", "1e", "1e+", "1E-3",
+        "1.5f", "1.5D", "1.5x", " 1.5 ", "NaN", "-Infinity", "infinity", "0x1p3", "1e1234567890",
+        "127", "128", "-128", "-129", "32768", "2147483648", "-2147483649", "9223372036854775808",
+        "\u0661\u0662", "1\u0661", "1e\u0661", "true", "FALSE", "yes", "a", "ab",
+        "123e4567-e89b-12d3-a456-426655440000", "123e4567-e89b-12d3-a456-42665544000g", "1-2-3-4-5", "RUBBISH",
+        "CEILING", "ceiling", "2010-09-03T12:34:05.000+02:00", "2010-13-03T12:34:05.000+02:00",
+        "2010-09-03T12:34:05.000+02:00[Europe/Paris]", "2010-09-03T12:34:05.000+02:00[", "2010-09-03x12:34:05.000+02:00",
+    };
+    /** The converters with scanners, and a type to convert to. */
+    private static final Object[][] TYPES = {
+        {JDKStringConverter.LONG, Long.class}, {JDKStringConverter.INTEGER, Integer.class},
+        {JDKStringConverter.SHORT, Short.class}, {JDKStringConverter.BYTE, Byte.class},
+        {JDKStringConverter.CHARACTER, Character.class}, {JDKStringConverter.BOOLEAN, Boolean.class},
+        {JDKStringConverter.DOUBLE, Double.class}, {JDKStringConverter.FLOAT, Float.class},
+        {JDKStringConverter.BIG_INTEGER, BigInteger.class}, {JDKStringConverter.BIG_DECIMAL, BigDecimal.class},
+        {JDKStringConverter.ATOMIC_LONG, AtomicLong.class}, {JDKStringConverter.ATOMIC_INTEGER, AtomicInteger.class},
+        {JDKStringConverter.ATOMIC_BOOLEAN, AtomicBoolean.class}, {JDKStringConverter.UUID, UUID.class},
+        {JDKStringConverter.ENUM, RoundingMode.class}, {JDKStringConverter.LOCALE, Locale.class},
+        {JDKStringConverter.DATE, Date.class}, {JDKStringConverter.CALENDAR, Calendar.class},
+    };
+
+    @Test
+    public void test_isParseable_matchesConversion() {
+        for (Object[] type : TYPES) {
+            JDKStringConverter test = (JDKStringConverter) type[0];
+            Class<?> cls = (Class<?>) type[1];
+            for (String input : INPUTS) {
+                boolean expected = true;
+                try {
+                    test.convertFromString(cls, input);
+                } catch (RuntimeException ex) {
+                    expected = false;
+                }
+                assertEquals(test + " " + input, expected, test.isParseable(cls, input));
+            }
+        }
+    }
+
+    @Test
+    public void test_convertRange_matchesConversion() {
+        for (Object[] type : TYPES) {
+            JDKStringConverter test = (JDKStringConverter) type[0];
+            Class<?> cls = (Class<?>) type[1];
+            for (String input : INPUTS) {
+                StringBuilder buf = new StringBuilder("<<").append(input).append(">>");
+                Object expected;
+                try {
+                    expected = test.convertFromString(cls, input);
+                } catch (RuntimeException ex) {
+                    expected = ex.getClass() + " " + ex.getMessage();
+                }
+                Object actual;
+                try {
+                    actual = test.convertFromString(cls, buf, 2, buf.length() - 2);
+                } catch (RuntimeException ex) {
+                    actual = ex.getClass() + " " + ex.getMessage();
+                }
+                if (expected instanceof Number || expected instanceof AtomicBoolean) {
+                    assertEquals(test + " " + input, expected.getClass(), actual.getClass());
+                    expected = expected.toString();
+                    actual = actual.toString();
+                }
+                assertEquals(test + " " + input, expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void test_convertRange_stringTypes() {
+        StringBuilder buf = new StringBuilder("<<Hello>>");
+        assertEquals("Hello", JDKStringConverter.STRING.convertFromString(String.class, buf, 2, 7));
+        assertEquals("Hello", JDKStringConverter.CHAR_SEQUENCE.convertFromString(CharSequence.class, buf, 2, 7));
+        assertEquals("Hello", JDKStringConverter.STRING_BUFFER.convertFromString(StringBuffer.class, buf, 2, 7).toString());
+        assertEquals("Hello", JDKStringConverter.STRING_BUILDER.convertFromString(StringBuilder.class, buf, 2, 7).toString());
+        assertEquals(new File("Hello"), JDKStringConverter.FILE.convertFromString(File.class, buf, 2, 7));
+    }
+
+    @Test
+    public void test_scan_knownWithoutConversion() {
+        assertEquals(JDKScanner.VALID, JDKStringConverter.DOUBLE.scan(Double.class, "-1.5e3", 0, 6));
+        assertEquals(3, JDKStringConverter.DOUBLE.scan(Double.class, "1.5x", 0, 4));
+        assertEquals(JDKScanner.VALID, JDKStringConverter.BIG_DECIMAL.scan(BigDecimal.class, "1.5E+3", 0, 6));
+        assertEquals(0, JDKStringConverter.BIG_DECIMAL.scan(BigDecimal.class, "RUBBISH", 0, 7));
+        assertEquals(JDKScanner.VALID, JDKStringConverter.DATE.scan(Date.class, "2010-09-03T12:34:05.000+02:00", 0, 29));
+        assertEquals(0, JDKStringConverter.DATE.scan(Date.class, "2010-09-03", 0, 10));
+        assertEquals(JDKScanner.VALID, JDKStringConverter.STRING.scan(String.class, "", 0, 0));
+        assertEquals(JDKScanner.UNKNOWN, JDKStringConverter.URI.scan(java.net.URI.class, "urn:hello", 0, 9));
+    }
+
     //-----------------------------------------------------------------------
     public void doTest(JDKStringConverter test, Class<?> cls, Object obj, String str) {
         doTest(test, cls, obj, str, obj);
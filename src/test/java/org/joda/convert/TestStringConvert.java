@@ -19,8 +19,33 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.CharBuffer;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -50,6 +75,48 @@ public class TestStringConvert {
         assertEquals(null, conv);
     }
 
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_lazyJsr310() throws Exception {
+        Class<?> cls;
+        try {
+            cls = Class.forName("java.time.LocalDate");
+        } catch (ClassNotFoundException ex) {
+            return;  // JDK 1.8 not available
+        }
+        StringConvert test = new StringConvert();
+        StringConverter<?> conv = test.findConverter(cls);
+        assertEquals(true, conv instanceof MethodsStringConverter<?>);
+        assertSame(conv, test.findConverter(cls));
+        Object date = test.convertFromString(cls, "2013-02-28");
+        assertEquals("2013-02-28", test.convertToString(date));
+    }
+
+    @Test
+    public void test_lazyJsr310_subclass() throws Exception {
+        Class<?> cls;
+        try {
+            cls = Class.forName("java.time.ZoneId");
+        } catch (ClassNotFoundException ex) {
+            return;  // JDK 1.8 not available
+        }
+        StringConvert test = new StringConvert();
+        Object zone = test.convertFromString(cls, "Europe/London");
+        assertEquals(true, zone.getClass() != cls);
+        assertEquals("Europe/London", test.convertToString(zone));
+    }
+
+    @Test
+    public void test_lazyJsr310_noJdkConverters() throws Exception {
+        Class<?> cls;
+        try {
+            cls = Class.forName("java.time.LocalDate");
+        } catch (ClassNotFoundException ex) {
+            return;  // JDK 1.8 not available
+        }
+        assertEquals(false, new StringConvert(false).isConvertible(cls));
+    }
+
     //-----------------------------------------------------------------------
     @Test
     public void test_convertToString() {
@@ -154,6 +221,446 @@ public class TestStringConvert {
         StringConvert.INSTANCE.findConverter(Object.class);
     }
 
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_converterFor() {
+        TypedConverter<Integer> test = StringConvert.INSTANCE.converterFor(Integer.class);
+        assertEquals(Integer.class, test.getType());
+        assertSame(JDKStringConverter.INTEGER, test.getConverter());
+        assertEquals("6", test.format(6));
+        assertEquals(Integer.valueOf(6), test.parse("6"));
+        assertEquals(null, test.format(null));
+        assertEquals(null, test.parse(null));
+        assertEquals("TypedConverter[java.lang.Integer]", test.toString());
+    }
+
+    @Test
+    public void test_converterFor_annotated() {
+        TypedConverter<DistanceMethodMethod> test = new StringConvert().converterFor(DistanceMethodMethod.class);
+        assertEquals("25m", test.format(new DistanceMethodMethod(25)));
+        assertEquals(25, test.parse("25m").amount);
+    }
+
+    @Test
+    public void test_converterFor_inherit() {
+        TypedConverter<RoundingMode> test = StringConvert.INSTANCE.converterFor(RoundingMode.class);
+        assertEquals("CEILING", test.format(RoundingMode.CEILING));
+        assertEquals(RoundingMode.CEILING, test.parse("CEILING"));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void test_converterFor_null() {
+        StringConvert.INSTANCE.converterFor(null);
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_converterFor_noConverter() {
+        StringConvert.INSTANCE.converterFor(DistanceNoAnnotations.class);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_tryConvertFromString_jdk() {
+        StringConvert test = StringConvert.INSTANCE;
+        assertEquals(Integer.valueOf(6), test.tryConvertFromString(Integer.class, "6", -1));
+        assertEquals(Integer.valueOf(6), test.tryConvertFromString(Integer.TYPE, new StringBuilder("6"), -1));
+        assertEquals(Integer.valueOf(-1), test.tryConvertFromString(Integer.class, "RUBBISH", -1));
+        assertEquals(null, test.tryConvertFromString(Integer.class, "RUBBISH", null));
+        assertEquals(RoundingMode.CEILING, test.tryConvertFromString(RoundingMode.class, "CEILING", RoundingMode.UP));
+        assertEquals(RoundingMode.UP, test.tryConvertFromString(RoundingMode.class, "RUBBISH", RoundingMode.UP));
+        assertEquals(null, test.tryConvertFromString(Integer.class, null, -1));
+    }
+
+    @Test
+    public void test_tryConvertFromString_annotated() {
+        StringConvert test = new StringConvert();
+        DistanceMethodMethod dflt = new DistanceMethodMethod(0);
+        assertEquals(25, test.tryConvertFromString(DistanceMethodMethod.class, "25m", dflt).amount);
+        assertSame(dflt, test.tryConvertFromString(DistanceMethodMethod.class, "RUBBISH", dflt));
+    }
+
+    @Test
+    public void test_tryConvertFromString_registered() {
+        StringConvert test = new StringConvert();
+        test.register(Integer.class, MockIntegerStringConverter.INSTANCE);
+        assertEquals(Integer.valueOf(6), test.tryConvertFromString(Integer.class, "6", -1));
+        assertEquals(Integer.valueOf(-1), test.tryConvertFromString(Integer.class, "RUBBISH", -1));
+    }
+
+    @Test
+    public void test_tryConvertFromString_tryConverter() {
+        StringConvert test = new StringConvert();
+        test.register(Integer.class, MockTryIntegerStringConverter.INSTANCE);
+        assertEquals(Integer.valueOf(6), test.tryConvertFromString(Integer.class, "6", -1));
+        assertEquals(Integer.valueOf(-1), test.tryConvertFromString(Integer.class, "66", -1));
+        assertEquals(true, test.isParseable(Integer.class, "6"));
+        assertEquals(false, test.isParseable(Integer.class, "66"));
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_tryConvertFromString_noConverter() {
+        StringConvert.INSTANCE.tryConvertFromString(DistanceNoAnnotations.class, "25m", null);
+    }
+
+    @Test
+    public void test_isParseable() {
+        StringConvert test = StringConvert.INSTANCE;
+        assertEquals(true, test.isParseable(Integer.class, "6"));
+        assertEquals(true, test.isParseable(Integer.TYPE, new StringBuilder("-6")));
+        assertEquals(false, test.isParseable(Integer.class, "2147483648"));
+        assertEquals(false, test.isParseable(Integer.class, "RUBBISH"));
+        assertEquals(true, test.isParseable(BigDecimal.class, "1.5"));
+        assertEquals(true, test.isParseable(RoundingMode.class, "CEILING"));
+        assertEquals(false, test.isParseable(RoundingMode.class, "RUBBISH"));
+        assertEquals(false, test.isParseable(Integer.class, null));
+    }
+
+    @Test
+    public void test_isParseable_annotated() {
+        StringConvert test = new StringConvert();
+        assertEquals(true, test.isParseable(DistanceMethodMethod.class, "25m"));
+        assertEquals(false, test.isParseable(DistanceMethodMethod.class, "RUBBISH"));
+    }
+
+    @Test
+    public void test_isParseable_registered() {
+        StringConvert test = new StringConvert();
+        test.register(Integer.class, new StringConverter<Integer>() {
+            public String convertToString(Integer object) {
+                return object.toString();
+            }
+            public Integer convertFromString(Class<? extends Integer> cls, String str) {
+                return Integer.valueOf(str);
+            }
+        });
+        assertEquals(true, test.isParseable(Integer.class, "6"));
+        assertEquals(false, test.isParseable(Integer.class, "RUBBISH"));
+        // a converter may return null as a valid result
+        test.register(Double.class, new StringConverter<Double>() {
+            public String convertToString(Double object) {
+                return object.toString();
+            }
+            public Double convertFromString(Class<? extends Double> cls, String str) {
+                return null;
+            }
+        });
+        assertEquals(true, test.isParseable(Double.class, "RUBBISH"));
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_isParseable_noConverter() {
+        StringConvert.INSTANCE.isParseable(DistanceNoAnnotations.class, "25m");
+    }
+
+    @Test
+    public void test_converterFor_tryParse() {
+        TypedConverter<Integer> test = StringConvert.INSTANCE.converterFor(Integer.class);
+        assertEquals(Integer.valueOf(6), test.tryParse("6", -1));
+        assertEquals(Integer.valueOf(-1), test.tryParse("RUBBISH", -1));
+        assertEquals(null, test.tryParse(null, -1));
+        assertEquals(true, test.isParseable("6"));
+        assertEquals(false, test.isParseable("RUBBISH"));
+        assertEquals(false, test.isParseable(null));
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_convertFromString_range() {
+        StringConvert test = StringConvert.INSTANCE;
+        StringBuilder line = new StringBuilder("12,CEILING,true,123e4567-e89b-12d3-a456-426655440000,1.5");
+        assertEquals(Integer.valueOf(12), test.convertFromString(Integer.class, line, 0, 2));
+        assertEquals(RoundingMode.CEILING, test.convertFromString(RoundingMode.class, line, 3, 10));
+        assertEquals(Boolean.TRUE, test.convertFromString(Boolean.TYPE, line, 11, 15));
+        assertEquals(UUID.fromString("123e4567-e89b-12d3-a456-426655440000"), test.convertFromString(UUID.class, line, 16, 52));
+        assertEquals(new BigDecimal("1.5"), test.convertFromString(BigDecimal.class, line, 53, 56));
+        assertEquals(null, test.convertFromString(Integer.class, null, 0, 0));
+    }
+
+    @Test
+    public void test_convertFromString_range_annotated() {
+        StringConvert test = new StringConvert();
+        assertEquals(25, test.convertFromString(DistanceMethodMethod.class, "<25m>", 1, 4).amount);
+        TypedConverter<DistanceMethodMethod> typed = test.converterFor(DistanceMethodMethod.class);
+        assertEquals(25, typed.parse("<25m>", 1, 4).amount);
+        assertEquals(null, typed.parse(null, 0, 0));
+    }
+
+    @Test
+    public void test_convertFromString_range_fromCharSequenceConverter() {
+        class RangeConverter implements StringConverter<Integer>, FromCharSequenceConverter<Integer> {
+            public String convertToString(Integer object) {
+                return object.toString();
+            }
+            public Integer convertFromString(Class<? extends Integer> cls, String str) {
+                throw new UnsupportedOperationException();
+            }
+            public Integer convertFromString(Class<? extends Integer> cls, CharSequence str, int start, int end) {
+                return end - start;
+            }
+        }
+        StringConvert test = new StringConvert();
+        test.register(Integer.class, new RangeConverter());
+        assertEquals(Integer.valueOf(3), test.convertFromString(Integer.class, "abcdef", 1, 4));
+    }
+
+    @Test(expected=NumberFormatException.class)
+    public void test_convertFromString_range_invalid() {
+        StringConvert.INSTANCE.convertFromString(Integer.class, "1,2x,3", 2, 4);
+    }
+
+    @Test
+    public void test_convertFromString_range_stackless() {
+        StringConvert test = new StringConvert();
+        test.setStacklessExceptions(true);
+        assertEquals(Integer.valueOf(2), test.convertFromString(Integer.class, "1,2,3", 2, 3));
+        try {
+            test.convertFromString(Integer.class, "1,2x,3", 2, 4);
+            fail();
+        } catch (ConversionException ex) {
+            assertEquals(3, ex.getErrorOffset());
+            assertEquals("Invalid input for java.lang.Integer at index 3: 2x", ex.getMessage());
+        }
+        test.register(Double.class, new StringConverter<Double>() {
+            public String convertToString(Double object) {
+                return object.toString();
+            }
+            public Double convertFromString(Class<? extends Double> cls, String str) {
+                return Double.valueOf(str);
+            }
+        });
+        assertEquals(Double.valueOf(2), test.convertFromString(Double.class, "1,2,3", 2, 3));
+        try {
+            test.convertFromString(Double.class, "1,2x,3", 2, 4);
+            fail();
+        } catch (ConversionException ex) {
+            assertEquals(NumberFormatException.class, ex.getCause().getClass());
+        }
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void test_convertFromString_range_endTooLarge() {
+        StringConvert.INSTANCE.convertFromString(Integer.class, "12", 0, 3);
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void test_convertFromString_range_startAfterEnd() {
+        StringConvert.INSTANCE.convertFromString(Integer.class, "12", 2, 1);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_convertFromStrings_jdk() {
+        List<Integer> results = new ArrayList<Integer>();
+        ConversionReport report = StringConvert.INSTANCE.convertFromStrings(
+                Integer.class, Arrays.asList("1", "x", "3", null, "2147483648", "12x"), results);
+        assertEquals(Arrays.asList(1, null, 3, null, null, null), results);
+        assertEquals(Integer.class, report.getTargetType());
+        assertEquals(6, report.getRowCount());
+        assertEquals(true, report.hasFailures());
+        assertEquals(3, report.getFailureCount());
+        assertEquals(1, report.getRow(0));
+        assertEquals(4, report.getRow(1));
+        assertEquals(5, report.getRow(2));
+        assertEquals(ConversionReport.Reason.INVALID, report.getReason(0));
+        assertEquals(ConversionReport.Reason.INVALID, report.getReason(2));
+        assertEquals(0, report.getErrorOffset(0));
+        assertEquals(9, report.getErrorOffset(1));
+        assertEquals(2, report.getErrorOffset(2));
+        assertEquals("ConversionReport[java.lang.Integer, 3 of 6 rows failed]", report.toString());
+    }
+
+    @Test
+    public void test_convertFromStrings_manyFailures() {
+        List<String> input = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            input.add(i % 3 == 0 ? "RUBBISH" : Integer.toString(i));
+        }
+        List<Integer> results = new ArrayList<Integer>();
+        ConversionReport report = StringConvert.INSTANCE.convertFromStrings(Integer.class, input, results);
+        assertEquals(100, results.size());
+        assertEquals(34, report.getFailureCount());
+        for (int i = 0; i < 34; i++) {
+            assertEquals(i * 3, report.getRow(i));
+            assertEquals(null, results.get(i * 3));
+        }
+        assertEquals(Integer.valueOf(98), results.get(98));
+    }
+
+    @Test
+    public void test_convertFromStrings_noFailures() {
+        List<RoundingMode> results = new ArrayList<RoundingMode>();
+        ConversionReport report = StringConvert.INSTANCE.convertFromStrings(
+                RoundingMode.class, Arrays.asList("UP", "DOWN"), results);
+        assertEquals(Arrays.asList(RoundingMode.UP, RoundingMode.DOWN), results);
+        assertEquals(2, report.getRowCount());
+        assertEquals(false, report.hasFailures());
+        assertEquals(0, report.getFailureCount());
+    }
+
+    @Test
+    public void test_convertFromStrings_annotated() {
+        List<DistanceMethodMethod> results = new ArrayList<DistanceMethodMethod>();
+        ConversionReport report = new StringConvert().convertFromStrings(
+                DistanceMethodMethod.class, Arrays.asList("25m", "RUBBISH", ""), results);
+        assertEquals(3, results.size());
+        assertEquals(25, results.get(0).amount);
+        assertEquals(2, report.getFailureCount());
+        assertEquals(1, report.getRow(0));
+        assertEquals(ConversionReport.Reason.INVALID, report.getReason(0));
+        assertEquals(-1, report.getErrorOffset(0));
+        assertEquals(2, report.getRow(1));
+        assertEquals(ConversionReport.Reason.ERROR, report.getReason(1));
+    }
+
+    @Test
+    public void test_convertFromStrings_tryConverter() {
+        StringConvert test = new StringConvert();
+        test.register(Integer.class, MockTryIntegerStringConverter.INSTANCE);
+        List<Integer> results = new ArrayList<Integer>();
+        ConversionReport report = test.convertFromStrings(Integer.class, Arrays.asList("6", "66"), results);
+        assertEquals(Arrays.asList(6, null), results);
+        assertEquals(1, report.getFailureCount());
+        assertEquals(1, report.getRow(0));
+        assertEquals(ConversionReport.Reason.INVALID, report.getReason(0));
+    }
+
+    @Test
+    public void test_convertFromStrings_converterFor() {
+        TypedConverter<Integer> test = StringConvert.INSTANCE.converterFor(Integer.class);
+        List<Object> results = new ArrayList<Object>();
+        ConversionReport report = test.parseAll(Arrays.asList(new StringBuilder("1"), "2x"), results);
+        assertEquals(Arrays.asList(1, null), results);
+        assertEquals(1, report.getRow(0));
+        assertEquals(1, report.getErrorOffset(0));
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void test_convertFromStrings_invalidFailureIndex() {
+        ConversionReport report = StringConvert.INSTANCE.convertFromStrings(
+                Integer.class, Arrays.asList("1"), new ArrayList<Integer>());
+        report.getRow(0);
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_convertFromStrings_noConverter() {
+        StringConvert.INSTANCE.convertFromStrings(DistanceNoAnnotations.class, Arrays.asList("25m"), new ArrayList<Object>());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void test_convertFromStrings_nullStrings() {
+        StringConvert.INSTANCE.convertFromStrings(Integer.class, null, new ArrayList<Object>());
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_stacklessExceptions_jdk() {
+        StringConvert test = new StringConvert();
+        test.setStacklessExceptions(true);
+        assertEquals(Integer.valueOf(12), test.convertFromString(Integer.class, "12"));
+        try {
+            test.convertFromString(Integer.class, "12x");
+            fail();
+        } catch (ConversionException ex) {
+            assertEquals(Integer.class, ex.getTargetType());
+            assertEquals(2, ex.getErrorOffset());
+            assertEquals("Invalid input for java.lang.Integer at index 2: 12x", ex.getMessage());
+            assertEquals(null, ex.getCause());
+            assertEquals(0, ex.getStackTrace().length);
+        }
+    }
+
+    @Test
+    public void test_stacklessExceptions_jdkUnknown() {
+        StringConvert test = new StringConvert();
+        test.setStacklessExceptions(true);
+        try {
+            test.convertFromString(java.net.URI.class, "::");
+            fail();
+        } catch (ConversionException ex) {
+            assertEquals(java.net.URI.class, ex.getTargetType());
+            assertEquals(-1, ex.getErrorOffset());
+            assertEquals(IllegalArgumentException.class, ex.getCause().getClass());
+            assertEquals(0, ex.getStackTrace().length);
+        }
+    }
+
+    @Test
+    public void test_stacklessExceptions_annotated() {
+        StringConvert test = new StringConvert();
+        test.setStacklessExceptions(true);
+        assertEquals(25, test.convertFromString(DistanceMethodMethod.class, "25m").amount);
+        try {
+            test.convertFromString(DistanceMethodMethod.class, "RUBBISH");
+            fail();
+        } catch (ConversionException ex) {
+            assertEquals(DistanceMethodMethod.class, ex.getTargetType());
+            assertEquals(NumberFormatException.class, ex.getCause().getClass());
+            assertEquals(0, ex.getStackTrace().length);
+        }
+    }
+
+    @Test
+    public void test_stacklessExceptions_tryConverter() {
+        StringConvert test = new StringConvert();
+        test.register(Integer.class, MockTryIntegerStringConverter.INSTANCE);
+        test.setStacklessExceptions(true);
+        assertEquals(Integer.valueOf(6), test.convertFromString(Integer.class, "6"));
+        try {
+            test.convertFromString(Integer.class, "66");
+            fail();
+        } catch (ConversionException ex) {
+            assertEquals(Integer.class, ex.getTargetType());
+            assertEquals(null, ex.getCause());
+        }
+    }
+
+    @Test
+    public void test_stacklessExceptions_converterFor() {
+        StringConvert test = new StringConvert();
+        TypedConverter<Integer> before = test.converterFor(Integer.class);
+        test.setStacklessExceptions(true);
+        TypedConverter<Integer> after = test.converterFor(Integer.class);
+        assertEquals(Integer.valueOf(12), after.parse("12"));
+        try {
+            after.parse("12x");
+            fail();
+        } catch (ConversionException ex) {
+            assertEquals(2, ex.getErrorOffset());
+        }
+        try {
+            before.parse("12x");
+            fail();
+        } catch (ConversionException ex) {
+            fail();
+        } catch (NumberFormatException ex) {
+            // expected
+        }
+    }
+
+    @Test(expected=NumberFormatException.class)
+    public void test_stacklessExceptions_defaultOff() {
+        new StringConvert().convertFromString(Integer.class, "12x");
+    }
+
+    @Test
+    public void test_stacklessExceptions_copied() {
+        StringConvert test = new StringConvert();
+        test.setStacklessExceptions(true);
+        for (StringConvert copy : new StringConvert[] {test.freeze(), test.createChild()}) {
+            try {
+                copy.convertFromString(Integer.class, "12x");
+                fail();
+            } catch (ConversionException ex) {
+                assertEquals(0, ex.getStackTrace().length);
+            }
+        }
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_stacklessExceptions_globalSingleton() {
+        StringConvert.INSTANCE.setStacklessExceptions(true);
+    }
+
     //-----------------------------------------------------------------------
     @Test
     public void test_convert_annotationMethodMethod() {
@@ -283,11 +790,69 @@ public class TestStringConvert {
         try {
             conv.convertFromString(DistanceFromStringException.class, "25m");
             fail();
-        } catch (RuntimeException ex) {
+        } catch (ConversionException ex) {
+            assertEquals(ParseException.class, ex.getCause().getClass());
+            assertEquals(DistanceFromStringException.class, ex.getTargetType());
+            assertEquals(true, ex.getStackTrace().length > 0);
+        }
+    }
+
+    @Test
+    public void test_convert_annotationFromStringInvokeException_stackless() {
+        StringConvert test = new StringConvert();
+        test.setStacklessExceptions(true);
+        try {
+            test.convertFromString(DistanceFromStringException.class, "25m");
+            fail();
+        } catch (ConversionException ex) {
             assertEquals(ParseException.class, ex.getCause().getClass());
+            assertEquals(DistanceFromStringException.class, ex.getTargetType());
+            assertEquals(0, ex.getStackTrace().length);
+        }
+    }
+
+    @Test(expected=NumberFormatException.class)
+    public void test_convert_annotationFromStringRuntimeException() {
+        StringConvert test = new StringConvert();
+        test.convertFromString(DistanceMethodConstructor.class, "Xm");
+    }
+
+    @Test
+    public void test_convert_annotationInvoker() {
+        StringConvert test = new StringConvert();
+        ReflectionStringConverter<?> conv = (ReflectionStringConverter<?>) test.findConverter(DistanceMethodMethod.class);
+        String name = conv.toStringInvoker.getClass().getName();
+        if (MemberInvokers.isLambdaSupported()) {
+            assertEquals(true, name.startsWith(LambdaInvokerFactory.class.getName() + "$$Lambda"));
+        } else if (MemberInvokers.isMethodHandleSupported()) {
+            assertEquals(MethodHandleInvoker.class.getName(), name);
+        } else {
+            assertEquals(MemberInvokers.ReflectionMethodInvoker.class.getName(), name);
         }
     }
 
+    @Test
+    public void test_convert_invokerChildClassLoader() throws Exception {
+        URL url = DistanceMethodMethod.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[] {url}, null);
+        Class<?> cls = loader.loadClass(DistanceMethodMethod.class.getName());
+        StringConvert test = new StringConvert();
+        test.registerMethods(cls, "print", "parse");
+        ReflectionStringConverter<?> conv = (ReflectionStringConverter<?>) test.findConverter(cls);
+        assertEquals(false, conv.toStringInvoker.getClass().getName().contains("$$Lambda"));
+        assertEquals("25m", test.convertToString(test.convertFromString(cls, "25m")));
+    }
+
+    @Test
+    public void test_convert_annotationReflectionFallback() throws Throwable {
+        Method toString = DistanceMethodMethod.class.getMethod("print");
+        Method fromString = DistanceMethodMethod.class.getMethod("parse", String.class);
+        Constructor<DistanceMethodConstructor> con = DistanceMethodConstructor.class.getConstructor(String.class);
+        Object parsed = new MemberInvokers.ReflectionMethodInvoker(fromString).invoke("25m");
+        assertEquals("25m", new MemberInvokers.ReflectionMethodInvoker(toString).invoke(parsed));
+        assertEquals(DistanceMethodConstructor.class, new MemberInvokers.ReflectionConstructorInvoker(con).invoke("25m").getClass());
+    }
+
     //-----------------------------------------------------------------------
     @Test(expected=IllegalStateException.class)
     public void test_convert_annotationNoMethods() {
@@ -367,6 +932,39 @@ public class TestStringConvert {
         test.findConverter(DistanceTwoFromStringMethodAnnotations.class);
     }
 
+    @Test
+    public void test_convert_annotatedTwoFromStringMethod_message() {
+        try {
+            new StringConvert().findConverter(DistanceTwoFromStringMethodAnnotations.class);
+            fail();
+        } catch (IllegalStateException ex) {
+            assertEquals("Two methods are annotated with @FromString", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_annotationMetadata_sharedByInstances() {
+        AnnotationMetadata metadata = AnnotationMetadata.of(DistanceMethodMethod.class);
+        if (ClassCache.isSupported()) {
+            assertSame(metadata, AnnotationMetadata.of(DistanceMethodMethod.class));
+        }
+        assertEquals("print", metadata.getToStringMethod().getName());
+        assertEquals("parse", metadata.getFromStringMethod().getName());
+        assertEquals(null, metadata.getFromStringConstructor(DistanceMethodMethod.class));
+        StringConvert test1 = new StringConvert();
+        StringConvert test2 = new StringConvert(false);
+        assertEquals("25m", test1.convertToString(test1.convertFromString(DistanceMethodMethod.class, "25m")));
+        assertEquals("25m", test2.convertToString(test2.convertFromString(DistanceMethodMethod.class, "25m")));
+    }
+
+    @Test
+    public void test_annotationMetadata_declaredOnly() {
+        AnnotationMetadata metadata = AnnotationMetadata.of(SubMethodMethod.class);
+        assertEquals(null, metadata.getToStringMethod());
+        assertEquals(null, AnnotationMetadata.of(DistanceNoAnnotations.class).getFromStringMethod());
+        assertEquals(true, AnnotationMetadata.of(DistanceMethodConstructor.class).getFromStringConstructor(DistanceMethodConstructor.class) != null);
+    }
+
     //-----------------------------------------------------------------------
     @Test(expected=IllegalArgumentException.class)
     public void test_register_classNotNull() {
@@ -530,6 +1128,856 @@ public class TestStringConvert {
       test.registerMethodConstructor(DistanceNoAnnotations.class, "toString");
     }
 
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_findConverter_cached() {
+        StringConvert test = new StringConvert();
+        StringConverter<RoundingMode> conv = test.findConverter(RoundingMode.class);
+        assertSame(JDKStringConverter.ENUM, conv);
+        assertSame(conv, test.findConverter(RoundingMode.class));
+    }
+
+    @Test
+    public void test_findConverter_registerAfterFind() {
+        StringConvert test = new StringConvert();
+        assertSame(JDKStringConverter.INTEGER, test.findConverter(Integer.class));
+        test.register(Integer.class, MockIntegerStringConverter.INSTANCE);
+        assertSame(MockIntegerStringConverter.INSTANCE, test.findConverter(Integer.class));
+    }
+
+    @Test
+    public void test_findConverter_registerMethodsAfterFailedFind() {
+        StringConvert test = new StringConvert();
+        try {
+            test.findConverter(DistanceNoAnnotations.class);
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        test.registerMethods(DistanceNoAnnotations.class, "toString", "parse");
+        assertEquals(true, test.findConverter(DistanceNoAnnotations.class) instanceof MethodsStringConverter<?>);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_findConverter_concurrentFirstUse() throws Exception {
+        final StringConvert test = new StringConvert();
+        final CountDownLatch latch = new CountDownLatch(1);
+        List<Future<StringConverter<DistanceMethodMethod>>> results = new ArrayList<Future<StringConverter<DistanceMethodMethod>>>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(new Callable<StringConverter<DistanceMethodMethod>>() {
+                    public StringConverter<DistanceMethodMethod> call() throws Exception {
+                        latch.await();
+                        return test.findConverter(DistanceMethodMethod.class);
+                    }
+                }));
+            }
+            latch.countDown();
+            StringConverter<DistanceMethodMethod> conv = test.findConverter(DistanceMethodMethod.class);
+            for (Future<StringConverter<DistanceMethodMethod>> result : results) {
+                assertSame(conv, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_findConverter_concurrentFirstUseInvalid() throws Exception {
+        final StringConvert test = new StringConvert();
+        List<Future<Object>> results = new ArrayList<Future<Object>>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(new Callable<Object>() {
+                    public Object call() throws Exception {
+                        return test.findConverter(DistanceTwoToStringAnnotations.class);
+                    }
+                }));
+            }
+            for (Future<Object> result : results) {
+                try {
+                    result.get();
+                    fail();
+                } catch (ExecutionException ex) {
+                    assertEquals(IllegalStateException.class, ex.getCause().getClass());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_findConverter_converterNamedAsGeneratedNotInIndex() {
+        StringConvert test = new StringConvert();
+        StringConverter<DistanceMethodMethod> conv = test.findConverter(DistanceMethodMethod.class);
+        assertEquals(false, conv instanceof DistanceMethodMethod_StringConverter);
+        assertEquals("25m", test.convertToString(test.convertFromString(DistanceMethodMethod.class, "25m")));
+    }
+
+    @Test(timeout=10000)
+    public void test_findConverter_reentrantFirstUse() {
+        StringConvert test = new StringConvert();
+        DistanceReentrant.convert = test;
+        StringConverter<DistanceReentrant> conv = test.findConverter(DistanceReentrant.class);
+        assertEquals(true, conv instanceof DistanceReentrant_StringConverter);
+        assertEquals(true, DistanceReentrant_StringConverter.NESTED instanceof DistanceReentrant_StringConverter);
+        assertEquals("25m", test.convertToString(new DistanceReentrant(25)));
+        assertEquals(25, test.convertFromString(DistanceReentrant.class, "25m").amount);
+    }
+
+    //-----------------------------------------------------------------------
+    StringConverter<DistanceInterface> DISTANCE_INTERFACE_CONVERTER = new StringConverter<DistanceInterface>() {
+        public String convertToString(DistanceInterface object) {
+            return object.getAmount() + "m";
+        }
+        public DistanceInterface convertFromString(Class<? extends DistanceInterface> cls, String str) {
+            return new DistanceInterfaceImpl(Integer.parseInt(str.substring(0, str.length() - 1)));
+        }
+    };
+
+    @Test
+    public void test_findConverter_interface() {
+        StringConvert test = new StringConvert();
+        test.register(DistanceInterface.class, DISTANCE_INTERFACE_CONVERTER);
+        assertSame(DISTANCE_INTERFACE_CONVERTER, test.findConverter(DistanceInterfaceImpl.class));
+        assertEquals("25m", test.convertToString(new DistanceInterfaceImpl(25)));
+        assertEquals(25, test.convertFromString(DistanceInterface.class, "25m").getAmount());
+    }
+
+    @Test
+    public void test_findConverter_interfaceJdkConverterNotUsedForOtherTypes() {
+        StringConvert test = new StringConvert();
+        assertEquals(true, test.isConvertible(CharSequence.class));
+        assertEquals(false, test.isConvertible(CharBuffer.class));
+        try {
+            test.convertFromString(CharBuffer.class, "abc");
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        StringConvert child = test.createChild();
+        child.register(DistanceInterface.class, DISTANCE_INTERFACE_CONVERTER);
+        assertEquals(false, child.isConvertible(CharBuffer.class));
+    }
+
+    @Test
+    public void test_findConverter_interfaceOfSuperclass() {
+        StringConvert test = new StringConvert();
+        test.register(DistanceInterface.class, DISTANCE_INTERFACE_CONVERTER);
+        Class<?> sub = new DistanceInterfaceImpl(2) {}.getClass();
+        assertSame(DISTANCE_INTERFACE_CONVERTER, test.findConverter(sub));
+    }
+
+    @Test
+    public void test_findConverter_interfaceRegisteredAfterFind() {
+        StringConvert test = new StringConvert();
+        assertEquals(false, test.isConvertible(DistanceInterfaceImpl.class));
+        test.register(DistanceInterface.class, DISTANCE_INTERFACE_CONVERTER);
+        assertSame(DISTANCE_INTERFACE_CONVERTER, test.findConverter(DistanceInterfaceImpl.class));
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void test_findConverter_superclassBeforeInterface() {
+        StringConvert test = new StringConvert();
+        test.register(Comparable.class, (StringConverter) MockIntegerStringConverter.INSTANCE);
+        assertSame(JDKStringConverter.ENUM, test.findConverter(RoundingMode.class));
+    }
+
+    @Test
+    public void test_findConverter_registerSuperclassAfterFind() {
+        StringConvert test = new StringConvert();
+        assertEquals(true, test.findConverter(SubMethodMethod.class) instanceof MethodsStringConverter<?>);
+        test.register(DistanceMethodMethod.class, MockDistanceStringConverter.INSTANCE);
+        assertSame(MockDistanceStringConverter.INSTANCE, test.findConverter(SubMethodMethod.class));
+    }
+
+    @Test
+    public void test_findConverter_registerUnrelatedAfterFind() {
+        StringConvert test = new StringConvert();
+        StringConverter<SubMethodMethod> conv = test.findConverter(SubMethodMethod.class);
+        test.register(DistanceNoAnnotations.class, DISTANCE_TO_STRING_CONVERTER, DISTANCE_FROM_STRING_CONVERTER);
+        assertSame(conv, test.findConverter(SubMethodMethod.class));
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_isConvertible() {
+        assertEquals(true, StringConvert.INSTANCE.isConvertible(Integer.class));
+        assertEquals(true, StringConvert.INSTANCE.isConvertible(RoundingMode.class));
+        assertEquals(true, StringConvert.INSTANCE.isConvertible(DistanceMethodMethod.class));
+    }
+
+    @Test
+    public void test_isConvertible_noConverter() {
+        StringConvert test = new StringConvert();
+        assertEquals(false, test.isConvertible(Object.class));
+        assertEquals(false, test.isConvertible(DistanceNoAnnotations.class));
+        assertEquals(false, test.isConvertible(DistanceNoAnnotations.class));
+    }
+
+    @Test
+    public void test_isConvertible_invalidAnnotations() {
+        assertEquals(false, StringConvert.INSTANCE.isConvertible(DistanceTwoToStringAnnotations.class));
+    }
+
+    @Test
+    public void test_isConvertible_null() {
+        assertEquals(false, StringConvert.INSTANCE.isConvertible(null));
+    }
+
+    @Test
+    public void test_isConvertible_registerAfterCheck() {
+        StringConvert test = new StringConvert();
+        assertEquals(false, test.isConvertible(DistanceNoAnnotations.class));
+        test.register(DistanceNoAnnotations.class, DISTANCE_TO_STRING_CONVERTER, DISTANCE_FROM_STRING_CONVERTER);
+        assertEquals(true, test.isConvertible(DistanceNoAnnotations.class));
+    }
+
+    @Test
+    public void test_isConvertible_registerSuperclassAfterCheck() {
+        StringConvert test = new StringConvert();
+        Class<?> sub = new DistanceNoAnnotations(2) {}.getClass();
+        assertEquals(false, test.isConvertible(sub));
+        test.register(DistanceNoAnnotations.class, DISTANCE_TO_STRING_CONVERTER, DISTANCE_FROM_STRING_CONVERTER);
+        assertEquals(true, test.isConvertible(sub));
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_getRetainedClassCount() {
+        StringConvert test = new StringConvert(false);
+        assertEquals(0, test.getRetainedClassCount());
+        test.register(DistanceNoAnnotations.class, DISTANCE_TO_STRING_CONVERTER, DISTANCE_FROM_STRING_CONVERTER);
+        assertEquals(1, test.getRetainedClassCount());
+    }
+
+    @Test
+    public void test_getRetainedClassCount_resolvedNotRetained() {
+        StringConvert test = new StringConvert();
+        int base = test.getRetainedClassCount();
+        test.findConverter(DistanceMethodMethod.class);
+        test.findConverter(RoundingMode.class);
+        test.isConvertible(DistanceNoAnnotations.class);
+        int resolved = (ClassCache.isSupported() ? 0 : 2);
+        assertEquals(base + resolved, test.getRetainedClassCount());
+    }
+
+    @Test
+    public void test_getRetainedClassCount_frozen() {
+        StringConvert test = new StringConvert(false).freeze(DistanceMethodMethod.class);
+        assertEquals(1, test.getRetainedClassCount());
+    }
+
+    @Test
+    public void test_discardedInstanceCollectable() throws Exception {
+        WeakReference<StringConvert> pair = createAndDiscard(false);
+        WeakReference<StringConvert> methods = createAndDiscard(true);
+        for (int i = 0; i < 50 && (pair.get() != null || methods.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(null, pair.get());
+        assertEquals(null, methods.get());
+    }
+
+    private WeakReference<StringConvert> createAndDiscard(boolean methods) {
+        StringConvert test = new StringConvert();
+        if (methods) {
+            test.registerMethods(DistanceNoAnnotations.class, "print", "parse");
+        } else {
+            test.register(DistanceNoAnnotations.class, DISTANCE_TO_STRING_CONVERTER, DISTANCE_FROM_STRING_CONVERTER);
+        }
+        String str = test.convertToString(new DistanceNoAnnotations(25));
+        assertEquals(methods ? "25m" : "Distance[25m]", str);
+        assertEquals(25, test.convertFromString(DistanceNoAnnotations.class, "25m").amount);
+        assertEquals(25, test.convertFromString(DistanceMethodMethod.class, "25m").amount);
+        assertEquals(Integer.valueOf(25), test.convertFromString(Integer.class, "25"));
+        StringConvert child = test.createChild();
+        assertEquals(str, child.convertToString(new DistanceNoAnnotations(25)));
+        return new WeakReference<StringConvert>(test);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_freeze() {
+        StringConvert base = new StringConvert();
+        base.register(DistanceNoAnnotations.class, DISTANCE_TO_STRING_CONVERTER, DISTANCE_FROM_STRING_CONVERTER);
+        StringConvert test = base.freeze(DistanceMethodMethod.class);
+        assertSame(JDKStringConverter.INTEGER, test.findConverter(Integer.class));
+        assertSame(JDKStringConverter.INTEGER, test.findConverter(Integer.TYPE));
+        assertSame(base.findConverter(DistanceNoAnnotations.class), test.findConverter(DistanceNoAnnotations.class));
+        assertSame(base.findConverter(DistanceMethodMethod.class), test.findConverter(DistanceMethodMethod.class));
+        assertEquals(Integer.valueOf(6), test.convertFromString(Integer.class, "6"));
+        assertEquals("25m", test.convertToString(new DistanceMethodMethod(25)));
+    }
+
+    @Test
+    public void test_freeze_resolvesUnnamedClasses() {
+        StringConvert test = new StringConvert().freeze();
+        assertSame(JDKStringConverter.ENUM, test.findConverter(RoundingMode.class));
+        assertEquals(true, test.findConverter(DistanceMethodConstructor.class) instanceof MethodConstructorStringConverter<?>);
+        assertEquals(false, test.isConvertible(DistanceNoAnnotations.class));
+    }
+
+    @Test
+    public void test_freeze_frozen() {
+        StringConvert test = new StringConvert().freeze(DistanceMethodMethod.class).freeze();
+        assertSame(JDKStringConverter.INTEGER, test.findConverter(Integer.class));
+        assertEquals("25m", test.convertToString(new DistanceMethodMethod(25)));
+    }
+
+    @Test
+    public void test_freeze_globalSingleton() {
+        StringConvert test = StringConvert.INSTANCE.freeze();
+        assertSame(JDKStringConverter.INTEGER, test.findConverter(Integer.class));
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_freeze_noConverter() {
+        new StringConvert().freeze(DistanceNoAnnotations.class);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void test_freeze_null() {
+        new StringConvert().freeze((Class<?>[]) null);
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_freeze_register() {
+        new StringConvert().freeze().register(Integer.class, MockIntegerStringConverter.INSTANCE);
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_freeze_registerMethods() {
+        new StringConvert().freeze().registerMethods(DistanceNoAnnotations.class, "toString", "parse");
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_createChild() {
+        StringConvert parent = new StringConvert().freeze();
+        StringConvert test = parent.createChild();
+        assertEquals(0, test.getRetainedClassCount());
+        assertSame(JDKStringConverter.INTEGER, test.findConverter(Integer.class));
+        assertSame(JDKStringConverter.ENUM, test.findConverter(RoundingMode.class));
+        assertSame(parent.findConverter(DistanceMethodMethod.class), test.findConverter(DistanceMethodMethod.class));
+        assertEquals(false, test.isConvertible(DistanceNoAnnotations.class));
+    }
+
+    @Test
+    public void test_createChild_override() {
+        StringConvert parent = new StringConvert();
+        StringConvert test = parent.createChild();
+        test.register(Integer.class, MockIntegerStringConverter.INSTANCE);
+        test.register(DistanceMethodMethod.class, MockDistanceStringConverter.INSTANCE);
+        assertSame(MockIntegerStringConverter.INSTANCE, test.findConverter(Integer.class));
+        assertSame(MockDistanceStringConverter.INSTANCE, test.findConverter(SubMethodMethod.class));
+        assertSame(JDKStringConverter.INTEGER, parent.findConverter(Integer.class));
+        assertEquals(true, parent.findConverter(SubMethodMethod.class) instanceof MethodsStringConverter<?>);
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void test_createChild_interfaceAfterParentExact() {
+        StringConverter<Comparable> comparable = new StringConverter<Comparable>() {
+            public String convertToString(Comparable object) {
+                return object.toString();
+            }
+            public Comparable convertFromString(Class<? extends Comparable> cls, String str) {
+                return str;
+            }
+        };
+        StringConvert parent = new StringConvert();
+        StringConvert test = parent.createChild();
+        test.register(Comparable.class, comparable);
+        test.register(DistanceInterface.class, DISTANCE_INTERFACE_CONVERTER);
+        assertSame(JDKStringConverter.INTEGER, test.findConverter(Integer.class));
+        assertSame(JDKStringConverter.INTEGER, test.findConverter(Integer.TYPE));
+        assertSame(JDKStringConverter.STRING, test.findConverter(String.class));
+        assertSame(comparable, test.findConverter(Comparable.class));
+        assertSame(DISTANCE_INTERFACE_CONVERTER, test.findConverter(DistanceInterfaceImpl.class));
+        StringConvert grandchild = test.createChild();
+        grandchild.register(DistanceNoAnnotations.class, DISTANCE_TO_STRING_CONVERTER, DISTANCE_FROM_STRING_CONVERTER);
+        assertSame(JDKStringConverter.INTEGER, grandchild.findConverter(Integer.class));
+        assertSame(DISTANCE_INTERFACE_CONVERTER, grandchild.findConverter(DistanceInterfaceImpl.class));
+    }
+
+    @Test
+    public void test_createChild_interfaceAfterParentSuperclassAndAnnotations() {
+        StringConverter<Number> number = new StringConverter<Number>() {
+            public String convertToString(Number object) {
+                return object.toString();
+            }
+            public Number convertFromString(Class<? extends Number> cls, String str) {
+                return new AtomicInteger(Integer.parseInt(str));
+            }
+        };
+        StringConverter<Serializable> serializable = new StringConverter<Serializable>() {
+            public String convertToString(Serializable object) {
+                return object.toString();
+            }
+            public Serializable convertFromString(Class<? extends Serializable> cls, String str) {
+                return str;
+            }
+        };
+        StringConvert parent = new StringConvert(false);
+        parent.register(Number.class, number);
+        StringConvert test = parent.createChild();
+        test.register(DistanceInterface.class, DISTANCE_INTERFACE_CONVERTER);
+        test.register(Serializable.class, serializable);
+        assertSame(number, test.findConverter(AtomicInteger.class));
+        assertSame(parent.findConverter(DistanceInterfaceAnnotated.class), test.findConverter(DistanceInterfaceAnnotated.class));
+        assertEquals(true, test.findConverter(DistanceInterfaceAnnotated.class) instanceof MethodConstructorStringConverter<?>);
+        assertSame(DISTANCE_INTERFACE_CONVERTER, test.findConverter(DistanceInterfaceImpl.class));
+        StringConvert grandchild = test.createChild();
+        grandchild.register(DistanceNoAnnotations.class, DISTANCE_TO_STRING_CONVERTER, DISTANCE_FROM_STRING_CONVERTER);
+        assertSame(number, grandchild.findConverter(AtomicInteger.class));
+        assertEquals(true, grandchild.findConverter(DistanceInterfaceAnnotated.class) instanceof MethodConstructorStringConverter<?>);
+        assertSame(DISTANCE_INTERFACE_CONVERTER, grandchild.findConverter(DistanceInterfaceImpl.class));
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_createChild_readSnapshot() throws Exception {
+        new StringConvert().createChild().readSnapshot(new StringReader(""), getClass().getClassLoader());
+    }
+
+    @Test
+    public void test_createChild_registerAfterFind() {
+        StringConvert test = StringConvert.INSTANCE.createChild();
+        assertEquals(false, test.isConvertible(DistanceNoAnnotations.class));
+        test.register(DistanceNoAnnotations.class, DISTANCE_TO_STRING_CONVERTER, DISTANCE_FROM_STRING_CONVERTER);
+        assertEquals(true, test.isConvertible(DistanceNoAnnotations.class));
+        assertEquals(false, StringConvert.INSTANCE.isConvertible(DistanceNoAnnotations.class));
+    }
+
+    @Test
+    public void test_createChild_freeze() {
+        StringConvert child = StringConvert.INSTANCE.createChild();
+        child.register(Integer.class, MockIntegerStringConverter.INSTANCE);
+        StringConvert test = child.freeze();
+        assertSame(MockIntegerStringConverter.INSTANCE, test.findConverter(Integer.class));
+        assertSame(JDKStringConverter.LONG, test.findConverter(Long.class));
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_generateConverters_annotations() {
+        StringConvert test = new StringConvert();
+        test.setGenerateConverters(true);
+        StringConverter<DistanceMethodMethod> conv = test.findConverter(DistanceMethodMethod.class);
+        assertEquals(false, conv instanceof ReflectionStringConverter<?>);
+        assertEquals("GeneratedStringConverter[DistanceMethodMethod]", conv.toString());
+        assertEquals("25m", test.convertToString(test.convertFromString(DistanceMethodMethod.class, "25m")));
+        StringConverter<DistanceMethodConstructor> conv2 = test.findConverter(DistanceMethodConstructor.class);
+        assertEquals(false, conv2 instanceof ReflectionStringConverter<?>);
+        assertEquals("25m", test.convertToString(test.convertFromString(DistanceMethodConstructor.class, "25m")));
+    }
+
+    @Test
+    public void test_generateConverters_castToSubclass() {
+        StringConvert test = new StringConvert();
+        test.setGenerateConverters(true);
+        test.registerMethods(DistanceNoAnnotations.class, "print", "parse");
+        assertEquals(false, test.findConverter(DistanceNoAnnotations.class) instanceof ReflectionStringConverter<?>);
+        assertEquals("25m", test.convertToString(test.convertFromString(DistanceNoAnnotations.class, "25m")));
+        assertEquals(SuperFactorySub.class, test.convertFromString(SuperFactorySub.class, "5m").getClass());
+        try {
+            test.convertFromString(SuperFactorySub.class, "25m");
+            fail();
+        } catch (ClassCastException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void test_generateConverters_checkedExceptionNotGenerated() {
+        StringConvert test = new StringConvert();
+        test.setGenerateConverters(true);
+        assertEquals(true, test.findConverter(DistanceToStringException.class) instanceof ReflectionStringConverter<?>);
+    }
+
+    @Test(expected=NumberFormatException.class)
+    public void test_generateConverters_runtimeException() {
+        StringConvert test = new StringConvert();
+        test.setGenerateConverters(true);
+        test.convertFromString(DistanceMethodConstructor.class, "Xm");
+    }
+
+    @Test
+    public void test_generateConverters_childClassLoader() throws Exception {
+        URL url = DistanceMethodMethod.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[] {url}, getClass().getClassLoader()) {
+            @Override
+            protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (name.equals(DistanceMethodMethod.class.getName())) {
+                    Class<?> cls = findLoadedClass(name);
+                    return (cls != null ? cls : findClass(name));
+                }
+                return super.loadClass(name, resolve);
+            }
+        };
+        Class<?> cls = loader.loadClass(DistanceMethodMethod.class.getName());
+        StringConvert test = new StringConvert();
+        test.setGenerateConverters(true);
+        assertEquals(false, test.findConverter(cls) instanceof ReflectionStringConverter<?>);
+        assertEquals("25m", test.convertToString(test.convertFromString(cls, "25m")));
+    }
+
+    @Test
+    public void test_generateConverters_snapshot() throws Exception {
+        StringConvert base = new StringConvert();
+        base.setGenerateConverters(true);
+        base.findConverter(DistanceMethodMethod.class);
+        StringWriter buf = new StringWriter();
+        base.writeSnapshot(buf);
+        assertEquals(true, buf.toString().contains("org.joda.convert.DistanceMethodMethod METHODS"));
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_generateConverters_globalSingleton() {
+        StringConvert.INSTANCE.setGenerateConverters(true);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_tieredThreshold_upgradesWhenHot() {
+        StringConvert test = new StringConvert();
+        test.setTieredThreshold(3);
+        StringConverter<DistanceMethodMethod> conv = test.findConverter(DistanceMethodMethod.class);
+        assertEquals(true, conv instanceof TieredStringConverter<?>);
+        TieredStringConverter<DistanceMethodMethod> tiered = (TieredStringConverter<DistanceMethodMethod>) conv;
+        assertEquals(true, tiered.source.toStringInvoker instanceof MemberInvokers.ReflectionMethodInvoker);
+        assertEquals("25m", test.convertToString(test.convertFromString(DistanceMethodMethod.class, "25m")));
+        assertEquals(false, tiered.isUpgraded());
+        assertEquals("26m", test.convertToString(new DistanceMethodMethod(26)));
+        assertEquals(true, tiered.isUpgraded());
+        assertEquals("27m", test.convertToString(test.convertFromString(DistanceMethodMethod.class, "27m")));
+        StringConverter<DistanceMethodMethod> upgraded = test.findConverter(DistanceMethodMethod.class);
+        assertEquals(true, upgraded instanceof MethodsStringConverter<?>);
+        assertSame(upgraded, test.findConverter(DistanceMethodMethod.class));
+    }
+
+    @Test
+    public void test_tieredThreshold_registeredReplacedOnceUpgraded() {
+        StringConvert test = new StringConvert();
+        test.setTieredThreshold(1);
+        test.registerMethods(DistanceNoAnnotations.class, "print", "parse");
+        StringConverter<DistanceNoAnnotations> conv = test.findConverter(DistanceNoAnnotations.class);
+        assertEquals(true, conv instanceof TieredStringConverter<?>);
+        assertEquals("25m", test.convertToString(test.convertFromString(DistanceNoAnnotations.class, "25m")));
+        assertEquals(false, test.findConverter(DistanceNoAnnotations.class) instanceof TieredStringConverter<?>);
+        assertEquals("26m", conv.convertToString(new DistanceNoAnnotations(26)));
+    }
+
+    @Test
+    public void test_tieredThreshold_constructorAndGenerated() {
+        StringConvert test = new StringConvert();
+        test.setTieredThreshold(1);
+        test.setGenerateConverters(true);
+        StringConverter<DistanceMethodConstructor> conv = test.findConverter(DistanceMethodConstructor.class);
+        assertEquals(true, conv instanceof TieredStringConverter<?>);
+        assertEquals("25m", test.convertToString(test.convertFromString(DistanceMethodConstructor.class, "25m")));
+        assertEquals(true, ((TieredStringConverter<?>) conv).isUpgraded());
+    }
+
+    @Test
+    public void test_tieredThreshold_registerMethods() {
+        StringConvert test = new StringConvert();
+        test.setTieredThreshold(10);
+        test.registerMethods(DistanceNoAnnotations.class, "print", "parse");
+        assertEquals(true, test.findConverter(DistanceNoAnnotations.class) instanceof TieredStringConverter<?>);
+        assertEquals("25m", test.convertToString(test.convertFromString(DistanceNoAnnotations.class, "25m")));
+    }
+
+    @Test
+    public void test_tieredThreshold_zeroBindsWhenCreated() {
+        StringConvert test = new StringConvert();
+        test.setTieredThreshold(5);
+        test.setTieredThreshold(0);
+        assertEquals(true, test.findConverter(DistanceMethodMethod.class) instanceof MethodsStringConverter<?>);
+    }
+
+    @Test
+    public void test_tieredThreshold_snapshot() throws Exception {
+        StringConvert base = new StringConvert();
+        base.setTieredThreshold(5);
+        base.findConverter(DistanceMethodMethod.class);
+        StringWriter buf = new StringWriter();
+        base.writeSnapshot(buf);
+        assertEquals(true, buf.toString().contains("org.joda.convert.DistanceMethodMethod METHODS"));
+    }
+
+    @Test
+    public void test_tieredThreshold_copiedToChild() {
+        StringConvert parent = new StringConvert();
+        parent.setTieredThreshold(5);
+        StringConvert child = parent.createChild();
+        child.registerMethods(DistanceNoAnnotations.class, "print", "parse");
+        assertEquals(true, child.findConverter(DistanceNoAnnotations.class) instanceof TieredStringConverter<?>);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void test_tieredThreshold_negative() {
+        new StringConvert().setTieredThreshold(-1);
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_tieredThreshold_globalSingleton() {
+        StringConvert.INSTANCE.setTieredThreshold(5);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_conventionConverters_disabledByDefault() {
+        StringConvert test = new StringConvert();
+        assertEquals(false, test.isConvertible(DistanceOfConvention.class));
+    }
+
+    @Test
+    public void test_conventionConverters_of() {
+        StringConvert test = new StringConvert();
+        test.setConventionConverters(true);
+        StringConverter<DistanceOfConvention> conv = test.findConverter(DistanceOfConvention.class);
+        assertEquals(true, conv instanceof MethodsStringConverter<?>);
+        assertEquals("of", ((MethodsStringConverter<?>) conv).fromString.getName());
+        assertEquals("25m", test.convertToString(test.convertFromString(DistanceOfConvention.class, "25m")));
+    }
+
+    @Test
+    public void test_conventionConverters_parse() {
+        StringConvert test = new StringConvert();
+        test.setConventionConverters(true);
+        DistanceNoAnnotations obj = test.convertFromString(DistanceNoAnnotations.class, "25m");
+        assertEquals(25, obj.amount);
+        assertEquals("Distance[25m]", test.convertToString(obj));
+    }
+
+    @Test
+    public void test_conventionConverters_factoryOfSuperclassNotUsed() {
+        StringConvert test = new StringConvert();
+        test.setConventionConverters(true);
+        assertEquals(false, test.isConvertible(SubDistanceOfConvention.class));
+    }
+
+    @Test
+    public void test_conventionConverters_factoryReturningSupertypeNotUsed() {
+        StringConvert test = new StringConvert();
+        test.setConventionConverters(true);
+        assertEquals(false, test.isConvertible(DistanceObjectParseConvention.class));
+    }
+
+    @Test
+    public void test_conventionConverters_factoryReturningSubclass() {
+        StringConvert test = new StringConvert();
+        test.setConventionConverters(true);
+        DistanceCovariantConvention obj = test.convertFromString(DistanceCovariantConvention.class, "25m");
+        assertEquals(DistanceCovariantConvention.Metres.class, obj.getClass());
+        assertEquals(25, obj.amount);
+        assertEquals("25m", test.convertToString(DistanceCovariantConvention.class, obj));
+    }
+
+    @Test
+    public void test_conventionConverters_noToStringOverride() {
+        StringConvert test = new StringConvert();
+        test.setConventionConverters(true);
+        assertEquals(false, test.isConvertible(Object.class));
+        assertEquals(false, test.isConvertible(Thread.class));
+    }
+
+    @Test
+    public void test_conventionConverters_annotationsTakePrecedence() {
+        StringConvert test = new StringConvert();
+        test.setConventionConverters(true);
+        StringConverter<DistanceMethodMethod> conv = test.findConverter(DistanceMethodMethod.class);
+        assertEquals("parse", ((MethodsStringConverter<?>) conv).fromString.getName());
+        assertEquals("25m", conv.convertToString(new DistanceMethodMethod(25)));
+    }
+
+    @Test
+    public void test_conventionConverters_enableClearsUnconvertible() {
+        StringConvert test = new StringConvert();
+        assertEquals(false, test.isConvertible(DistanceOfConvention.class));
+        test.setConventionConverters(true);
+        assertEquals(true, test.isConvertible(DistanceOfConvention.class));
+    }
+
+    @Test
+    public void test_conventionConverters_copiedToChildAndFrozen() {
+        StringConvert base = new StringConvert();
+        base.setConventionConverters(true);
+        assertEquals(true, base.freeze().isConvertible(DistanceOfConvention.class));
+        StringConvert parent = new StringConvert();
+        parent.setConventionConverters(true);
+        assertEquals(true, parent.createChild().isConvertible(DistanceOfConvention.class));
+    }
+
+    @Test
+    public void test_conventionConverters_generated() {
+        StringConvert test = new StringConvert();
+        test.setConventionConverters(true);
+        test.setGenerateConverters(true);
+        assertEquals(false, test.findConverter(DistanceOfConvention.class) instanceof ReflectionStringConverter<?>);
+        assertEquals("25m", test.convertToString(test.convertFromString(DistanceOfConvention.class, "25m")));
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_conventionConverters_globalSingleton() {
+        StringConvert.INSTANCE.setConventionConverters(true);
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_index_childClassLoader() throws Exception {
+        File dir = File.createTempFile("joda-convert", "");
+        dir.delete();
+        try {
+            File index = new File(dir, ConverterIndex.RESOURCE);
+            index.getParentFile().mkdirs();
+            Writer writer = new OutputStreamWriter(new FileOutputStream(index), "UTF-8");
+            try {
+                writer.write("# Joda-Convert index\n");
+                writer.write("org.joda.convert.DistanceNoAnnotations METHODS org.joda.convert.DistanceNoAnnotations print " +
+                        "org.joda.convert.DistanceNoAnnotations parse java.lang.String\n");
+            } finally {
+                writer.close();
+            }
+            URL url = DistanceNoAnnotations.class.getProtectionDomain().getCodeSource().getLocation();
+            ClassLoader loader = new URLClassLoader(new URL[] {dir.toURI().toURL(), url}, getClass().getClassLoader()) {
+                @Override
+                protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                    if (name.equals(DistanceNoAnnotations.class.getName())) {
+                        Class<?> cls = findLoadedClass(name);
+                        return (cls != null ? cls : findClass(name));
+                    }
+                    return super.loadClass(name, resolve);
+                }
+            };
+            Class<?> cls = loader.loadClass(DistanceNoAnnotations.class.getName());
+            StringConvert test = new StringConvert();
+            assertEquals(true, test.findConverter(cls) instanceof MethodsStringConverter<?>);
+            assertEquals("25m", test.convertToString(test.convertFromString(cls, "25m")));
+            assertEquals(false, test.isConvertible(DistanceNoAnnotations.class));
+        } finally {
+            new File(dir, ConverterIndex.RESOURCE).delete();
+            new File(dir, "META-INF").delete();
+            dir.delete();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void test_snapshot_roundTrip() throws Exception {
+        StringConvert base = new StringConvert();
+        base.findConverter(DistanceMethodMethod.class);
+        base.findConverter(DistanceMethodConstructor.class);
+        base.findConverter(SubMethodMethod.class);
+        base.findConverter(RoundingMode.class);
+        StringWriter buf = new StringWriter();
+        base.writeSnapshot(buf);
+        assertEquals(true, buf.toString().contains("java.math.RoundingMode JDK ENUM\n"));
+        
+        StringConvert test = new StringConvert();
+        int retained = test.getRetainedClassCount() + (ClassCache.isSupported() ? 0 : 4);
+        assertEquals(0, test.readSnapshot(new StringReader(buf.toString()), getClass().getClassLoader()));
+        assertEquals(retained, test.getRetainedClassCount());
+        assertSame(JDKStringConverter.ENUM, test.findConverter(RoundingMode.class));
+        assertEquals(true, test.findConverter(DistanceMethodMethod.class) instanceof MethodsStringConverter<?>);
+        assertEquals(true, test.findConverter(DistanceMethodConstructor.class) instanceof MethodConstructorStringConverter<?>);
+        assertEquals("25m", test.convertToString(test.convertFromString(DistanceMethodMethod.class, "25m")));
+        assertEquals("25m", test.convertToString(test.convertFromString(DistanceMethodConstructor.class, "25m")));
+        assertEquals(SubMethodMethod.class, test.convertFromString(SubMethodMethod.class, "25m").getClass());
+    }
+
+    @Test
+    public void test_snapshot_registeredNotWritten() throws Exception {
+        StringConvert base = new StringConvert();
+        base.findConverter(Integer.class);
+        StringWriter buf = new StringWriter();
+        base.writeSnapshot(buf);
+        assertEquals(false, buf.toString().contains("java.lang.Integer"));
+    }
+
+    @Test
+    public void test_snapshot_readIgnoresMissing() throws Exception {
+        String snapshot = "# comment\n" +
+            "com.example.Missing JDK ENUM\n" +
+            "org.joda.convert.DistanceMethodMethod METHODS org.joda.convert.DistanceMethodMethod missing " +
+            "org.joda.convert.DistanceMethodMethod parse java.lang.String\n";
+        StringConvert test = new StringConvert();
+        assertEquals(2, test.readSnapshot(new StringReader(snapshot), getClass().getClassLoader()));
+        assertEquals(true, test.findConverter(DistanceMethodMethod.class) instanceof MethodsStringConverter<?>);
+    }
+
+    @Test
+    public void test_snapshot_readRegisteredTakesPrecedence() throws Exception {
+        StringConvert test = new StringConvert();
+        test.register(Integer.class, MockIntegerStringConverter.INSTANCE);
+        String snapshot = "java.lang.Integer JDK INTEGER\n";
+        assertEquals(0, test.readSnapshot(new StringReader(snapshot), getClass().getClassLoader()));
+        assertSame(MockIntegerStringConverter.INSTANCE, test.findConverter(Integer.class));
+    }
+
+    @Test
+    public void test_snapshot_readRegisteredSuperclassAndInterfaceTakePrecedence() throws Exception {
+        StringConverter<CharSequence> chars = new StringConverter<CharSequence>() {
+            public String convertToString(CharSequence object) {
+                return object.toString();
+            }
+            public CharSequence convertFromString(Class<? extends CharSequence> cls, String str) {
+                return str;
+            }
+        };
+        StringConvert test = new StringConvert(false);
+        test.register(DistanceMethodMethod.class, MockDistanceStringConverter.INSTANCE);
+        test.register(CharSequence.class, chars);
+        String snapshot = "org.joda.convert.SubMethodMethod METHODS org.joda.convert.DistanceMethodMethod print " +
+            "org.joda.convert.DistanceMethodMethod parse java.lang.String\n" +
+            "java.lang.StringBuilder CONSTRUCTOR java.lang.StringBuilder toString java.lang.String\n";
+        assertEquals(0, test.readSnapshot(new StringReader(snapshot), getClass().getClassLoader()));
+        assertSame(MockDistanceStringConverter.INSTANCE, test.findConverter(SubMethodMethod.class));
+        assertSame(chars, test.findConverter(StringBuilder.class));
+    }
+
+    @Test
+    public void test_snapshot_readThenRegisterSuperclass() throws Exception {
+        StringConvert test = new StringConvert();
+        String snapshot = "org.joda.convert.SubMethodMethod METHODS org.joda.convert.DistanceMethodMethod print " +
+            "org.joda.convert.DistanceMethodMethod parse java.lang.String\n";
+        assertEquals(0, test.readSnapshot(new StringReader(snapshot), getClass().getClassLoader()));
+        test.register(DistanceMethodMethod.class, MockDistanceStringConverter.INSTANCE);
+        assertSame(MockDistanceStringConverter.INSTANCE, test.findConverter(SubMethodMethod.class));
+    }
+
+    @Test
+    public void test_snapshot_readUsedWithoutRetaining() throws Exception {
+        StringConvert test = new StringConvert();
+        int retained = test.getRetainedClassCount() + (ClassCache.isSupported() ? 0 : 1);
+        assertEquals(false, test.isConvertible(DistanceNoAnnotations.class));
+        String snapshot = "org.joda.convert.DistanceNoAnnotations METHODS org.joda.convert.DistanceNoAnnotations print " +
+            "org.joda.convert.DistanceNoAnnotations parse java.lang.String\n";
+        assertEquals(0, test.readSnapshot(new StringReader(snapshot), getClass().getClassLoader()));
+        assertEquals(retained, test.getRetainedClassCount());
+        assertEquals("25m", test.convertToString(new DistanceNoAnnotations(25)));
+        StringWriter buf = new StringWriter();
+        test.writeSnapshot(buf);
+        assertEquals(true, buf.toString().contains("org.joda.convert.DistanceNoAnnotations METHODS"));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void test_snapshot_readInvalid() throws Exception {
+        new StringConvert().readSnapshot(new StringReader("java.math.RoundingMode WHATEVER\n"), getClass().getClassLoader());
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void test_snapshot_readGlobalSingleton() throws Exception {
+        StringConvert.INSTANCE.readSnapshot(new StringReader(""), getClass().getClassLoader());
+    }
+
     //-----------------------------------------------------------------------
     @Test
     public void test_convert_toString() {
@@ -0,0 +1,287 @@
+/*
+ *  Copyright 2010-present Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.convert.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.joda.convert.ConversionException;
+import org.joda.convert.StringConvert;
+import org.joda.convert.StringConverter;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test ConverterProcessor.
+ */
+public class TestConverterProcessor {
+
+    private File dir;
+    private ClassLoader loader;
+    private List<String> notes = new ArrayList<String>();
+
+    @Before
+    public void setUp() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeTrue(compiler != null);
+        dir = File.createTempFile("joda-convert", "");
+        dir.delete();
+        File src = new File(dir, "src/com/example");
+        File out = new File(dir, "out");
+        src.mkdirs();
+        out.mkdirs();
+        List<File> files = new ArrayList<File>();
+        files.add(write(src, "Money", "public class Money {\n" +
+                "    private final int amount;\n" +
+                "    public Money(int amount) { this.amount = amount; }\n" +
+                "    @FromString public static Money parse(String str) { return new Money(Integer.parseInt(str.substring(4))); }\n" +
+                "    @ToString public String print() { return \"GBP \" + amount; }\n" +
+                "}\n"));
+        files.add(write(src, "Code", "public class Code {\n" +
+                "    private final String code;\n" +
+                "    @FromString public Code(CharSequence code) { this.code = code.toString(); }\n" +
+                "    @ToString public String getCode() { return code; }\n" +
+                "}\n"));
+        files.add(write(src, "Outer", "public class Outer {\n" +
+                "    public static class Inner extends Code {\n" +
+                "        public Inner(String code) { super(code); }\n" +
+                "        @FromString public static Inner of(String code) { return new Inner(code); }\n" +
+                "    }\n" +
+                "}\n"));
+        files.add(write(src, "Outer_Inner", "public class Outer_Inner extends Code {\n" +
+                "    public Outer_Inner(String code) { super(code); }\n" +
+                "    @FromString public static Outer_Inner of(String code) { return new Outer_Inner(code); }\n" +
+                "}\n"));
+        files.add(write(src, "Checked", "public class Checked {\n" +
+                "    @FromString public static Checked parse(String str) throws java.io.IOException { throw new java.io.IOException(str); }\n" +
+                "    @ToString public String print() { return \"\"; }\n" +
+                "}\n"));
+        files.add(write(src, "TwoToString", "public class TwoToString {\n" +
+                "    @FromString public static TwoToString parse(String str) { return null; }\n" +
+                "    @ToString public String print() { return \"\"; }\n" +
+                "    @ToString public String print2() { return \"\"; }\n" +
+                "}\n"));
+        files.add(write(src, "NotPublic", "public class NotPublic {\n" +
+                "    @FromString static NotPublic parse(String str) { return null; }\n" +
+                "    @ToString public String print() { return \"\"; }\n" +
+                "}\n"));
+        String classpath = new File(StringConvert.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        List<String> options = Arrays.asList("-classpath", classpath, "-d", out.getPath(), "-s", out.getPath(),
+                "-processor", ConverterProcessor.class.getName());
+        boolean ok = compiler.getTask(null, fileManager, diagnostics, options, null,
+                fileManager.getJavaFileObjectsFromFiles(files)).call();
+        fileManager.close();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            assertEquals(diagnostic.toString(), true, diagnostic.getKind() != Diagnostic.Kind.WARNING);
+            if (diagnostic.getKind() == Diagnostic.Kind.NOTE && diagnostic.getMessage(Locale.ENGLISH).startsWith("Joda-Convert")) {
+                notes.add(diagnostic.getMessage(Locale.ENGLISH));
+            }
+        }
+        assertEquals(diagnostics.getDiagnostics().toString(), true, ok);
+        loader = new URLClassLoader(new URL[] {out.toURI().toURL()}, StringConvert.class.getClassLoader());
+    }
+
+    @After
+    public void tearDown() {
+        if (dir != null) {
+            delete(dir);
+        }
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private List<String> readLines(String resource) throws IOException {
+        File file = new File(dir, "out/" + resource);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        List<String> lines = new ArrayList<String>();
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return lines;
+    }
+
+    private static File write(File src, String name, String body) throws IOException {
+        File file = new File(src, name + ".java");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write("package com.example;\nimport org.joda.convert.FromString;\nimport org.joda.convert.ToString;\n");
+            writer.write(body);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void test_methods() throws Exception {
+        Class cls = loader.loadClass("com.example.Money");
+        StringConvert test = new StringConvert();
+        StringConverter<?> conv = test.findConverter(cls);
+        assertEquals("com.example.Money" + ConverterProcessor.SUFFIX, conv.getClass().getName());
+        assertEquals("GeneratedStringConverter[Money]", conv.toString());
+        assertEquals("GBP 25", test.convertToString(test.convertFromString(cls, "GBP 25")));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void test_constructor() throws Exception {
+        Class cls = loader.loadClass("com.example.Code");
+        StringConvert test = new StringConvert();
+        assertEquals("com.example.Code" + ConverterProcessor.SUFFIX, test.findConverter(cls).getClass().getName());
+        assertEquals("ABC", test.convertToString(test.convertFromString(cls, "ABC")));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void test_nested() throws Exception {
+        Class cls = loader.loadClass("com.example.Outer$Inner");
+        StringConvert test = new StringConvert();
+        assertEquals("com.example.Outer$$Inner" + ConverterProcessor.SUFFIX, test.findConverter(cls).getClass().getName());
+        Object obj = test.convertFromString(cls, "ABC");
+        assertSame(cls, obj.getClass());
+        assertEquals("ABC", test.convertToString(obj));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void test_nestedNameNotClashing() throws Exception {
+        Class cls = loader.loadClass("com.example.Outer_Inner");
+        StringConvert test = new StringConvert();
+        assertEquals("com.example.Outer_Inner" + ConverterProcessor.SUFFIX, test.findConverter(cls).getClass().getName());
+        Object obj = test.convertFromString(cls, "ABC");
+        assertSame(cls, obj.getClass());
+        assertEquals("ABC", test.convertToString(obj));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void test_checkedException() throws Exception {
+        Class cls = loader.loadClass("com.example.Checked");
+        StringConvert test = new StringConvert();
+        assertEquals("com.example.Checked" + ConverterProcessor.SUFFIX, test.findConverter(cls).getClass().getName());
+        try {
+            test.convertFromString(cls, "Bad");
+            fail();
+        } catch (ConversionException ex) {
+            assertEquals(IOException.class, ex.getCause().getClass());
+            assertSame(cls, ex.getTargetType());
+        }
+    }
+
+    @Test
+    public void test_index() throws Exception {
+        List<String> lines = readLines(ConverterProcessor.INDEX);
+        assertEquals(Arrays.asList(
+                "# Joda-Convert index",
+                "com.example.Checked GENERATED com.example.Checked" + ConverterProcessor.SUFFIX,
+                "com.example.Code GENERATED com.example.Code" + ConverterProcessor.SUFFIX,
+                "com.example.Money GENERATED com.example.Money" + ConverterProcessor.SUFFIX,
+                "com.example.NotPublic METHODS com.example.NotPublic print com.example.NotPublic parse java.lang.String",
+                "com.example.Outer$Inner GENERATED com.example.Outer$$Inner" + ConverterProcessor.SUFFIX,
+                "com.example.Outer_Inner GENERATED com.example.Outer_Inner" + ConverterProcessor.SUFFIX), lines);
+    }
+
+    @Test
+    public void test_reflectConfig() throws Exception {
+        List<String> lines = readLines(ConverterProcessor.REFLECT_CONFIG);
+        assertEquals(Arrays.asList(
+                "[",
+                "  {\"name\": \"com.example.Checked" + ConverterProcessor.SUFFIX + "\", \"methods\": [",
+                "    {\"name\": \"<init>\", \"parameterTypes\": []}",
+                "  ]},",
+                "  {\"name\": \"com.example.Code" + ConverterProcessor.SUFFIX + "\", \"methods\": [",
+                "    {\"name\": \"<init>\", \"parameterTypes\": []}",
+                "  ]},",
+                "  {\"name\": \"com.example.Money" + ConverterProcessor.SUFFIX + "\", \"methods\": [",
+                "    {\"name\": \"<init>\", \"parameterTypes\": []}",
+                "  ]},",
+                "  {\"name\": \"com.example.NotPublic\", \"methods\": [",
+                "    {\"name\": \"parse\", \"parameterTypes\": [\"java.lang.String\"]},",
+                "    {\"name\": \"print\", \"parameterTypes\": []}",
+                "  ]},",
+                "  {\"name\": \"com.example.Outer$$Inner" + ConverterProcessor.SUFFIX + "\", \"methods\": [",
+                "    {\"name\": \"<init>\", \"parameterTypes\": []}",
+                "  ]},",
+                "  {\"name\": \"com.example.Outer_Inner" + ConverterProcessor.SUFFIX + "\", \"methods\": [",
+                "    {\"name\": \"<init>\", \"parameterTypes\": []}",
+                "  ]}",
+                "]"), lines);
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void test_indexNotGenerated() throws Exception {
+        Class cls = loader.loadClass("com.example.NotPublic");
+        StringConvert test = new StringConvert();
+        assertEquals("MethodsStringConverter", test.findConverter(cls).getClass().getSimpleName());
+    }
+
+    @Test
+    public void test_invalidNotGenerated() throws Exception {
+        assertEquals(notes.toString(), 2, notes.size());
+        for (String name : new String[] {"TwoToString", "NotPublic"}) {
+            try {
+                loader.loadClass("com.example." + name + ConverterProcessor.SUFFIX);
+                fail();
+            } catch (ClassNotFoundException ex) {
+                // expected
+            }
+        }
+    }
+
+}